@@ -0,0 +1,127 @@
+package com.luxcampus.fileanalyzer;
+
+import com.luxcampus.filemanager.FileManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class FileAnalyzerBenchmark {
+
+    private static final String KEYWORD = "tree";
+    private static final List<String> KEYWORDS = List.of("tree", "window", "cloud", "dream", "weather");
+    private static final String[] WORDS = {"tree", "window", "sash", "lowered", "night", "curtain", "drawn",
+            "between", "you", "and", "me", "vague", "dream", "head", "lifted", "out", "of", "the", "ground",
+            "thing", "next", "most", "diffuse", "to", "cloud", "not", "all", "your", "light", "tongues",
+            "talking", "aloud", "could", "be", "profound", "seen", "taken", "tossed", "weather", "trees"};
+    private static final char[] SEPARATORS = {'.', '.', '.', '?', '!'};
+
+    @Param({"1", "100", "1024"})
+    private int sizeMb;
+
+    private Path directory;
+    private File file;
+    private String content;
+    private List<String> sentences;
+    private List<String> searchedSentences;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("fileanalyzer-benchmark");
+        file = directory.resolve("corpus-" + sizeMb + "mb.txt").toFile();
+        generateCorpus(file.toPath(), sizeMb * 1024L * 1024L);
+
+        content = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+        sentences = FileAnalyzer.breakIntoSentences(content);
+        searchedSentences = FileAnalyzer.getSearchedSentences(sentences, KEYWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileManager.delete(directory.toString());
+    }
+
+    @Benchmark
+    public List<String> breakIntoSentences() {
+        return FileAnalyzer.breakIntoSentences(content);
+    }
+
+    @Benchmark
+    public List<String> getSearchedSentences() {
+        return FileAnalyzer.getSearchedSentences(sentences, KEYWORD);
+    }
+
+    @Benchmark
+    public int getWordOccurrences() {
+        return FileAnalyzer.getWordOccurrences(searchedSentences, KEYWORD);
+    }
+
+    @Benchmark
+    public Result search() throws IOException {
+        return FileAnalyzer.search(new String[]{file.getPath(), KEYWORD});
+    }
+
+    @Benchmark
+    public Result searchParallel() throws IOException {
+        return ParallelFileAnalyzer.find(KEYWORD, file, SearchOptions.DEFAULT);
+    }
+
+    @Benchmark
+    public Map<String, Result> searchKeywords() throws IOException {
+        return MultiKeywordAnalyzer.find(KEYWORDS, file, SearchOptions.DEFAULT);
+    }
+
+    @Benchmark
+    public Result searchIndexed() throws IOException {
+        return FileIndex.search(file, KEYWORD, SearchOptions.DEFAULT, directory);
+    }
+
+    static void generateCorpus(Path path, long size) throws IOException {
+        Random random = new Random(42);
+        long written = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            StringBuilder sentence = new StringBuilder();
+            while (written < size) {
+                sentence.setLength(0);
+                int words = 5 + random.nextInt(15);
+                for (int i = 0; i < words; i++) {
+                    String word = WORDS[random.nextInt(WORDS.length)];
+                    if (i == 0) {
+                        sentence.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+                    } else {
+                        sentence.append(random.nextInt(10) == 0 ? ", " : " ").append(word);
+                    }
+                }
+                sentence.append(SEPARATORS[random.nextInt(SEPARATORS.length)]).append(' ');
+                writer.append(sentence);
+                written += sentence.length();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.luxcampus.filemanager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileManagerBenchmark {
+
+    private static final int WIDE_DIRECTORIES = 50;
+    private static final int WIDE_FILES_PER_DIRECTORY = 200;
+    private static final int DEEP_LEVELS = 200;
+    private static final int DEEP_FILES_PER_LEVEL = 5;
+    private static final int FILE_SIZE = 4096;
+
+    @Param({"wide", "deep"})
+    private String shape;
+
+    private Path directory;
+    private Path source;
+    private Path target;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("filemanager-benchmark");
+        source = directory.resolve("source");
+        target = directory.resolve("target");
+        if (shape.equals("wide")) {
+            createWideTree(source);
+        } else {
+            createDeepTree(source);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        FileManager.delete(directory.toString());
+    }
+
+    @TearDown(Level.Invocation)
+    public void restore() throws IOException {
+        if (Files.exists(target) && Files.notExists(source)) {
+            FileManager.move(target.toString(), source.toString());
+        } else if (Files.exists(target)) {
+            FileManager.delete(target.toString());
+        }
+    }
+
+    @Benchmark
+    public void copy() throws IOException {
+        FileManager.copy(source.toString(), target.toString());
+    }
+
+    @Benchmark
+    public void move() throws IOException {
+        FileManager.move(source.toString(), target.toString());
+    }
+
+    @Benchmark
+    public int countFiles() {
+        return FileManager.countFiles(source.toString());
+    }
+
+    @Benchmark
+    public int countDirs() {
+        return FileManager.countDirs(source.toString());
+    }
+
+    private static void createWideTree(Path root) throws IOException {
+        byte[] content = new byte[FILE_SIZE];
+        for (int i = 0; i < WIDE_DIRECTORIES; i++) {
+            Path directory = Files.createDirectories(root.resolve("directory" + i));
+            for (int j = 0; j < WIDE_FILES_PER_DIRECTORY; j++) {
+                Files.write(directory.resolve("file" + j + ".txt"), content);
+            }
+        }
+    }
+
+    private static void createDeepTree(Path root) throws IOException {
+        byte[] content = new byte[FILE_SIZE];
+        Path directory = root;
+        for (int i = 0; i < DEEP_LEVELS; i++) {
+            directory = Files.createDirectories(directory.resolve("level" + i));
+            for (int j = 0; j < DEEP_FILES_PER_LEVEL; j++) {
+                Files.write(directory.resolve("file" + j + ".txt"), content);
+            }
+        }
+    }
+
+}
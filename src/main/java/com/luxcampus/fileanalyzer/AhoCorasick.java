@@ -0,0 +1,100 @@
+package com.luxcampus.fileanalyzer;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+class AhoCorasick {
+
+    static final String EMPTY_KEYWORD_MESSAGE = "Keywords must not be empty";
+
+    private final List<String> keywords;
+    private final Node root = new Node();
+
+    AhoCorasick(List<String> keywords) {
+        this.keywords = List.copyOf(keywords);
+        for (int i = 0; i < this.keywords.size(); i++) {
+            insert(this.keywords.get(i), i);
+        }
+        buildFailureLinks();
+    }
+
+    int keywordCount() {
+        return keywords.size();
+    }
+
+    String keyword(int index) {
+        return keywords.get(index);
+    }
+
+    void scan(CharSequence text, MatchListener listener) {
+        Node node = root;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            while (node != root && !node.children.containsKey(c)) {
+                node = node.failure;
+            }
+            node = node.children.getOrDefault(c, root);
+            for (int keyword : node.outputs) {
+                listener.onMatch(keyword, i + 1 - keywords.get(keyword).length(), i + 1);
+            }
+        }
+    }
+
+    private void insert(String keyword, int index) {
+        if (keyword.isEmpty()) {
+            throw new IllegalArgumentException(EMPTY_KEYWORD_MESSAGE);
+        }
+        Node node = root;
+        for (int i = 0; i < keyword.length(); i++) {
+            node = node.children.computeIfAbsent(keyword.charAt(i), c -> new Node());
+        }
+        node.outputs = append(node.outputs, index);
+    }
+
+    private void buildFailureLinks() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children.values()) {
+            child.failure = root;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                char c = entry.getKey();
+                Node child = entry.getValue();
+
+                Node failure = node.failure;
+                while (failure != root && !failure.children.containsKey(c)) {
+                    failure = failure.failure;
+                }
+                child.failure = failure.children.getOrDefault(c, root);
+                for (int keyword : child.failure.outputs) {
+                    child.outputs = append(child.outputs, keyword);
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] result = new int[array.length + 1];
+        System.arraycopy(array, 0, result, 0, array.length);
+        result[array.length] = value;
+        return result;
+    }
+
+    interface MatchListener {
+        void onMatch(int keyword, int start, int end);
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private Node failure;
+        private int[] outputs = new int[0];
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.luxcampus.fileanalyzer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps a warm JVM serving searches over HTTP on the loopback interface, so repeated queries skip JVM startup and
+ * JIT warm-up. {@code GET /search?path=<file>&word=<keyword>} answers with the same text the command line prints;
+ * any other parameter is applied as a {@code --name=value} setting.
+ */
+public class AnalyzerServer implements Closeable {
+
+    static final int DEFAULT_PORT = 8090;
+    static final String SEARCH_PATH = "/search";
+    static final String PATH_PARAMETER = "path";
+    static final String WORD_PARAMETER = "word";
+    static final String METHOD_NOT_ALLOWED_MESSAGE = "Only GET is supported";
+    private static final int THREADS = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ResultCache cache;
+
+    AnalyzerServer(int port, ResultCache cache) throws IOException {
+        this.cache = cache;
+        this.executor = newExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(SEARCH_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static AnalyzerServer start(int port) throws IOException {
+        return new AnalyzerServer(port, new ResultCache());
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    Result search(String path, String word, SearchOptions options) throws IOException {
+        File file = new File(path);
+        if (!file.isFile() || word == null || word.isEmpty()) {
+            throw new IllegalArgumentException(FileAnalyzer.INCORRECT_ARGUMENT_MESSAGE);
+        }
+        ResultCache.Key key = ResultCache.Key.of(file, word, options);
+        Result result = cache.get(key);
+        if (result == null) {
+            result = FileAnalyzer.find(word, file, options);
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                respond(exchange, 405, METHOD_NOT_ALLOWED_MESSAGE);
+                return;
+            }
+            Map<String, String> parameters = getParameters(exchange.getRequestURI().getRawQuery());
+            String word = parameters.remove(WORD_PARAMETER);
+            String path = parameters.remove(PATH_PARAMETER);
+            SearchOptions options = SearchOptions.DEFAULT;
+            for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+                options = options.with("--" + parameter.getKey() + "=" + parameter.getValue());
+            }
+
+            Result result = search(path == null ? "" : path, word, options);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            FileAnalyzer.print(new PrintStream(output, true, StandardCharsets.UTF_8), word, result);
+            respond(exchange, 200, output.toString(StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, e.getMessage());
+        } catch (IOException e) {
+            respond(exchange, 500, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = (body == null ? "" : body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(bytes);
+            }
+        }
+    }
+
+    private static Map<String, String> getParameters(String query) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(THREADS);
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.luxcampus.fileanalyzer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+class ByteSentenceScanner {
+
+    private static final int INITIAL_CARRY_SIZE = 1024;
+
+    private final byte[] keyword;
+    private final int[] shifts = new int[256];
+    private final boolean utf8;
+    private final boolean wholeWordOnly;
+    private final SentenceSink sink;
+    private ByteBuffer carry = ByteBuffer.allocate(INITIAL_CARRY_SIZE);
+    private long carryOffset;
+    private long position;
+    private int count;
+
+    ByteSentenceScanner(String word, Charset charset, SentenceSink sink) {
+        this(word, charset, 0, sink);
+    }
+
+    ByteSentenceScanner(String word, Charset charset, long position, SentenceSink sink) {
+        this(word, charset, SearchMode.EXACT, position, sink);
+    }
+
+    ByteSentenceScanner(String word, Charset charset, SearchMode mode, long position, SentenceSink sink) {
+        if (!supports(word, charset, mode)) {
+            throw new IllegalArgumentException("Byte scanning is not supported for " + charset + " in " + mode);
+        }
+        this.keyword = word.getBytes(charset);
+        this.utf8 = charset.equals(StandardCharsets.UTF_8);
+        this.wholeWordOnly = mode == SearchMode.WHOLE_WORD;
+        this.sink = sink;
+        this.position = position;
+        this.carryOffset = position;
+
+        int last = keyword.length - 1;
+        Arrays.fill(shifts, keyword.length);
+        for (int i = 0; i < last; i++) {
+            shifts[keyword[i] & 0xff] = last - i;
+        }
+    }
+
+    static boolean supports(String word, Charset charset, SearchMode mode) {
+        return mode.isLiteralCaseSensitive() && supports(word, charset);
+    }
+
+    static boolean supports(String word, Charset charset) {
+        return !word.isEmpty()
+                && (charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.ISO_8859_1)
+                || charset.equals(StandardCharsets.US_ASCII))
+                && charset.newEncoder().canEncode(word);
+    }
+
+    int count() {
+        return count;
+    }
+
+    void feed(ByteBuffer block) {
+        int from = block.position();
+        int to = block.limit();
+        long blockOffset = position;
+        position += to - from;
+
+        if (carry.position() > 0) {
+            int separator = indexOfSeparator(block, from, to);
+            if (separator < 0) {
+                appendToCarry(block, from, to);
+                block.position(to);
+                return;
+            }
+            appendToCarry(block, from, separator + 1);
+            scan(carry, 0, carry.position(), carryOffset);
+            carry.clear();
+            from = separator + 1;
+        }
+
+        int lastSeparator = lastIndexOfSeparator(block, from, to);
+        if (lastSeparator >= 0) {
+            scan(block, from, lastSeparator + 1, blockOffset - block.position());
+            from = lastSeparator + 1;
+        }
+        carryOffset = blockOffset + from - block.position();
+        appendToCarry(block, from, to);
+        block.position(to);
+    }
+
+    void finish() {
+        if (carry.position() > 0) {
+            scan(carry, 0, carry.position(), carryOffset);
+            carry.clear();
+        }
+        carryOffset = position;
+    }
+
+    private void scan(ByteBuffer buffer, int from, int to, long bufferOffset) {
+        int length = keyword.length;
+        int index = from;
+
+        while (index < to) {
+            int hit = indexOf(buffer, index, to);
+            if (hit < 0) {
+                return;
+            }
+            int sentenceEnd = sentenceEnd(buffer, hit, to);
+            if (sentenceEnd < hit + length) {
+                index = hit + 1;
+                continue;
+            }
+            int sentenceStart = sentenceStart(buffer, from, hit);
+
+            int lastWordEnd = sentenceStart;
+            int sentenceCount = 0;
+            for (int match = hit; match >= 0; match = indexOf(buffer, match + 1, sentenceEnd)) {
+                int matchEnd = match + length;
+                if (match >= lastWordEnd && isWholeWord(buffer, match, matchEnd, sentenceStart, sentenceEnd)) {
+                    sentenceCount++;
+                    lastWordEnd = matchEnd;
+                }
+            }
+            count += sentenceCount;
+            if (wholeWordOnly && sentenceCount == 0) {
+                index = sentenceEnd;
+                continue;
+            }
+
+            int start = sentenceStart;
+            int end = sentenceEnd;
+            while (start < end && (buffer.get(start) & 0xff) <= ' ') {
+                start++;
+            }
+            while (end > start && (buffer.get(end - 1) & 0xff) <= ' ') {
+                end--;
+            }
+            sink.accept(buffer, start, end, bufferOffset + start);
+            index = sentenceEnd;
+        }
+    }
+
+    private int indexOf(ByteBuffer buffer, int from, int to) {
+        int last = keyword.length - 1;
+        int index = from;
+        while (index + last < to) {
+            int i = last;
+            while (buffer.get(index + i) == keyword[i]) {
+                if (i == 0) {
+                    return index;
+                }
+                i--;
+            }
+            index += shifts[buffer.get(index + last) & 0xff];
+        }
+        return -1;
+    }
+
+    private boolean isWholeWord(ByteBuffer buffer, int start, int end, int sentenceStart, int sentenceEnd) {
+        boolean startsWord = Words.isWordChar(Words.codePointAt(buffer, start, sentenceEnd, utf8));
+        boolean afterWord = start > sentenceStart
+                && Words.isWordChar(Words.codePointBefore(buffer, start, sentenceStart, utf8));
+        if (startsWord && afterWord) {
+            return false;
+        }
+        boolean endsWord = Words.isWordChar(Words.codePointBefore(buffer, end, sentenceStart, utf8));
+        boolean beforeWord = end < sentenceEnd && Words.isWordChar(Words.codePointAt(buffer, end, sentenceEnd, utf8));
+        return !(endsWord && beforeWord);
+    }
+
+    private static int sentenceStart(ByteBuffer buffer, int from, int index) {
+        for (int i = index - 1; i >= from; i--) {
+            if (isSentenceEnd(buffer.get(i))) {
+                return i + 1;
+            }
+        }
+        return from;
+    }
+
+    private static int sentenceEnd(ByteBuffer buffer, int index, int to) {
+        int separator = indexOfSeparator(buffer, index, to);
+        return separator < 0 ? to : separator + 1;
+    }
+
+    private static int indexOfSeparator(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (isSentenceEnd(buffer.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOfSeparator(ByteBuffer buffer, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (isSentenceEnd(buffer.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isSentenceEnd(byte b) {
+        return b == '.' || b == '?' || b == '!';
+    }
+
+    private void appendToCarry(ByteBuffer block, int from, int to) {
+        int length = to - from;
+        if (carry.remaining() < length) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(carry.capacity() * 2, carry.position() + length));
+            grown.put(carry.flip());
+            carry = grown;
+        }
+        carry.put(carry.position(), block, from, length);
+        carry.position(carry.position() + length);
+    }
+
+    static String decode(ByteBuffer buffer, int start, int end, Charset charset) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, end - start, charset);
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, charset);
+    }
+
+    interface SentenceSink {
+        void accept(ByteBuffer buffer, int start, int end, long offset);
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.luxcampus.fileanalyzer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+final class Charsets {
+
+    static final int HEAD_LENGTH = 3;
+    private static final byte[] UTF_8_BOM = {(byte) 0xef, (byte) 0xbb, (byte) 0xbf};
+    private static final byte[] UTF_16BE_BOM = {(byte) 0xfe, (byte) 0xff};
+    private static final byte[] UTF_16LE_BOM = {(byte) 0xff, (byte) 0xfe};
+
+    private Charsets() {
+    }
+
+    static Charset resolve(File file, SearchOptions options) throws IOException {
+        return options.charset() == null ? detect(file) : options.charset();
+    }
+
+    static Charset resolve(byte[] head, SearchOptions options) {
+        return options.charset() == null ? detect(head) : options.charset();
+    }
+
+    static Charset detect(File file) throws IOException {
+        return detect(readHead(file));
+    }
+
+    static Charset detect(byte[] head) {
+        if (startsWith(head, UTF_16BE_BOM)) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (startsWith(head, UTF_16LE_BOM)) {
+            return StandardCharsets.UTF_16LE;
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    static int getBomLength(File file, Charset charset) throws IOException {
+        return getBomLength(readHead(file), charset);
+    }
+
+    static int getBomLength(byte[] head, Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8) && startsWith(head, UTF_8_BOM)) {
+            return UTF_8_BOM.length;
+        }
+        if (charset.equals(StandardCharsets.UTF_16BE) && startsWith(head, UTF_16BE_BOM)) {
+            return UTF_16BE_BOM.length;
+        }
+        if (charset.equals(StandardCharsets.UTF_16LE) && startsWith(head, UTF_16LE_BOM)) {
+            return UTF_16LE_BOM.length;
+        }
+        return 0;
+    }
+
+    static Reader newReader(File file, Charset charset) throws IOException {
+        int bomLength = getBomLength(file, charset);
+        InputStream inputStream = new FileInputStream(file);
+        inputStream.skipNBytes(bomLength);
+        return newReader(inputStream, charset);
+    }
+
+    static Reader newReader(InputStream inputStream, Charset charset) {
+        return new InputStreamReader(inputStream, charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE));
+    }
+
+    static byte[] peekHead(PushbackInputStream inputStream) throws IOException {
+        byte[] head = inputStream.readNBytes(HEAD_LENGTH);
+        inputStream.unread(head);
+        return head;
+    }
+
+    private static byte[] readHead(File file) throws IOException {
+        try (FileInputStream inputStream = new FileInputStream(file)) {
+            return inputStream.readNBytes(HEAD_LENGTH);
+        }
+    }
+
+    /**
+     * Returns whether ASCII text is encoded as single bytes, so a NUL byte cannot be part of ordinary text.
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+        return Arrays.equals("\n.".getBytes(charset), new byte[]{'\n', '.'});
+    }
+
+    static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.luxcampus.fileanalyzer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+final class CompressedInput {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] GZIP_MAGIC = {0x1f, (byte) 0x8b};
+    private static final byte[] ZIP_MAGIC = {0x50, 0x4b, 0x03, 0x04};
+
+    enum Compression {
+        NONE, GZIP, ZIP
+    }
+
+    private CompressedInput() {
+    }
+
+    static Compression detect(File file) throws IOException {
+        byte[] head;
+        try (FileInputStream inputStream = new FileInputStream(file)) {
+            head = inputStream.readNBytes(ZIP_MAGIC.length);
+        }
+        if (Charsets.startsWith(head, GZIP_MAGIC)) {
+            return Compression.GZIP;
+        }
+        if (Charsets.startsWith(head, ZIP_MAGIC)) {
+            return Compression.ZIP;
+        }
+        return Compression.NONE;
+    }
+
+    static InputStream open(File file, Compression compression) throws IOException {
+        InputStream inputStream = new FileInputStream(file);
+        if (compression == Compression.GZIP) {
+            return new GZIPInputStream(inputStream, BUFFER_SIZE);
+        }
+        if (compression == Compression.ZIP) {
+            inputStream.close();
+            throw new IllegalArgumentException("Zip archives have to be read entry by entry: " + file);
+        }
+        return inputStream;
+    }
+
+    static InputStream nonClosing(InputStream inputStream) {
+        return new FilterInputStream(inputStream) {
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.luxcampus.fileanalyzer;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reuses direct buffers of one size, because allocating them is slow and their memory is only freed with the
+ * buffer object. At most {@code maxPooled} buffers are kept; buffers released beyond that are left to the collector.
+ */
+class DirectBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        return buffer.clear();
+    }
+
+    void release(ByteBuffer buffer) {
+        if (buffer.capacity() != bufferSize) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            buffers.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.luxcampus.fileanalyzer;
+
+import com.luxcampus.filemanager.FileManager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class DirectoryAnalyzer {
+
+    static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int BINARY_PROBE_SIZE = 8000;
+
+    static DirectoryResult find(String word, String directory, List<String> includes, List<String> excludes,
+                                SearchOptions options) throws IOException {
+        return find(word, directory, includes, excludes, options, DEFAULT_THREADS);
+    }
+
+    static DirectoryResult find(String word, String directory, List<String> includes, List<String> excludes,
+                                SearchOptions options, int threads) throws IOException {
+        Path root = Path.of(directory);
+        List<PathMatcher> includeMatchers = getMatchers(includes);
+        List<PathMatcher> excludeMatchers = getMatchers(excludes);
+        Map<String, Future<Result>> futures = new LinkedHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            FileManager.forEachFile(directory, file -> {
+                Path relativePath = root.relativize(file.toPath());
+                if (isIncluded(relativePath, includeMatchers, excludeMatchers)) {
+                    futures.put(relativePath.toString(), executor.submit(() -> findInTextFile(word, file, options)));
+                }
+            });
+            return collect(futures, options);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns whether the file looks binary because it has a NUL byte near its start. Compressed files and files in
+     * a charset such as UTF-16, where NUL bytes are part of ordinary text, are never binary.
+     */
+    static boolean isBinary(File file, SearchOptions options) throws IOException {
+        if (CompressedInput.detect(file) != CompressedInput.Compression.NONE
+                || !Charsets.isAsciiCompatible(Charsets.resolve(file, options))) {
+            return false;
+        }
+        try (FileInputStream inputStream = new FileInputStream(file)) {
+            byte[] probe = inputStream.readNBytes(BINARY_PROBE_SIZE);
+            for (byte b : probe) {
+                if (b == 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Result findInTextFile(String word, File file, SearchOptions options) throws IOException {
+        if (isBinary(file, options)) {
+            return null;
+        }
+        return FileAnalyzer.find(word, file, options);
+    }
+
+    private static DirectoryResult collect(Map<String, Future<Result>> futures, SearchOptions options)
+            throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        int totalCount = 0;
+        SentenceCollector totalSentences = new SentenceCollector(options);
+        boolean truncated = false;
+
+        for (Map.Entry<String, Future<Result>> entry : futures.entrySet()) {
+            Result result = getResult(entry.getValue());
+            if (result != null) {
+                results.put(entry.getKey(), result);
+                totalCount += result.count();
+                result.sentences().forEach(totalSentences);
+                truncated |= result.truncated();
+                totalSentences.addEditDistances(result.editDistances());
+            }
+        }
+        Result total = totalSentences.toResult(totalCount);
+        return new DirectoryResult(results, new Result(total.count(), total.sentences(),
+                truncated || total.truncated(), total.editDistances()));
+    }
+
+    private static Result getResult(Future<Result> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static boolean isIncluded(Path relativePath, List<PathMatcher> includes, List<PathMatcher> excludes) {
+        boolean included = includes.isEmpty() || matches(relativePath, includes);
+        return included && !matches(relativePath, excludes);
+    }
+
+    private static boolean matches(Path relativePath, List<PathMatcher> matchers) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(relativePath) || matcher.matches(relativePath.getFileName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathMatcher> getMatchers(List<String> globs) {
+        List<PathMatcher> matchers = new ArrayList<>();
+        for (String glob : globs) {
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+        }
+        return matchers;
+    }
+
+}
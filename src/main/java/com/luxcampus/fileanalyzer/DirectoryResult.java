@@ -0,0 +1,6 @@
+package com.luxcampus.fileanalyzer;
+
+import java.util.Map;
+
+public record DirectoryResult(Map<String, Result> files, Result total) {
+}
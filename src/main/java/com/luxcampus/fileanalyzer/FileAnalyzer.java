@@ -1,42 +1,317 @@
 package com.luxcampus.fileanalyzer;
 
+import com.luxcampus.metrics.Metrics;
+import com.luxcampus.metrics.Phase;
+
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 public class FileAnalyzer {
 
     private static final Pattern BREAK_INTO_SENTENCES_PATTERN = Pattern.compile("((?<=[.?!]))");
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final String OPTION_PREFIX = "--";
+    private static final String STREAM_OPTION = "--stream";
+    private static final String PARALLEL_OPTION = "--parallel";
+    private static final String KEYWORDS_OPTION = "--keywords";
+    private static final String INDEXED_OPTION = "--indexed";
+    private static final String DIRECTORY_OPTION = "--dir";
+    private static final String OFFSETS_OPTION = "--offsets";
+    private static final String SERVE_OPTION = "--serve";
+    private static final String FOLLOW_OPTION = "--follow";
+    private static final String STATISTICS_OPTION = "--stats";
+    private static final String INCLUDE_OPTION = "--include=";
+    private static final String EXCLUDE_OPTION = "--exclude=";
     static final String INCORRECT_ARGUMENT_MESSAGE =
             "Make sure to pass two arguments - file path (not a directory) and a keyword";
+    static final String INCORRECT_KEYWORDS_ARGUMENT_MESSAGE =
+            "Make sure to pass a file path (not a directory) followed by one or more keywords";
+    static final String INCORRECT_DIRECTORY_ARGUMENT_MESSAGE =
+            "Make sure to pass a directory path and a keyword, optionally followed by --include=<glob> and --exclude=<glob>";
+    static final String INCORRECT_STATISTICS_ARGUMENT_MESSAGE =
+            "Make sure to pass a file or directory path, optionally followed by the number of top terms";
+    static final String UNKNOWN_OPTION_MESSAGE = "Unknown option %s";
+    static final String OFFSETS_UNSUPPORTED_MESSAGE = "Sentence offsets are not available for %s in %s";
 
     public static void main(String[] args) throws IOException {
-        Result result = search(args);
-        print(args[1], result);
+        SearchOptions options = SearchOptions.DEFAULT;
+        int settingsCount = 0;
+        while (settingsCount < args.length && SearchOptions.isSetting(args[settingsCount])) {
+            options = options.with(args[settingsCount++]);
+        }
+        args = Arrays.copyOfRange(args, settingsCount, args.length);
+
+        if (args.length > 0 && args[0].startsWith(OPTION_PREFIX)) {
+            runOption(args[0], Arrays.copyOfRange(args, 1, args.length), options);
+            return;
+        }
+        File file = getFileIfValid(args);
+        String word = args[1];
+        if (CompressedInput.detect(file) == CompressedInput.Compression.ZIP) {
+            findInEntries(word, file, options).forEach((entry, entryResult) -> {
+                System.out.println(entry + ":");
+                print(word, entryResult);
+            });
+            return;
+        }
+        Result result = find(word, file, options);
+        print(word, result);
     }
 
     static Result search(String[] args) throws IOException {
-        if (args.length != 2) {
-            throw new IllegalArgumentException(INCORRECT_ARGUMENT_MESSAGE);
+        return search(args, SearchOptions.DEFAULT);
+    }
+
+    static Result search(String[] args, SearchOptions options) throws IOException {
+        File file = getFileIfValid(args);
+        String word = args[1];
+        return find(word, file, options);
+    }
+
+    static int searchStreaming(String[] args, SearchOptions options, Consumer<String> sentenceConsumer)
+            throws IOException {
+        File file = getFileIfValid(args);
+        String word = args[1];
+        return find(word, file, options, sentenceConsumer, null);
+    }
+
+    static int searchOffsets(String[] args, SearchOptions options, SentenceOffsetConsumer offsetConsumer)
+            throws IOException {
+        File file = getFileIfValid(args);
+        String word = args[1];
+        return findOffsets(word, file, options, offsetConsumer);
+    }
+
+    static Result searchParallel(String[] args, SearchOptions options) throws IOException {
+        File file = getFileIfValid(args);
+        String word = args[1];
+        return ParallelFileAnalyzer.find(word, file, options);
+    }
+
+    static Map<String, Result> searchKeywords(String[] args, SearchOptions options) throws IOException {
+        if (args.length < 2 || !new File(args[0]).isFile()) {
+            throw new IllegalArgumentException(INCORRECT_KEYWORDS_ARGUMENT_MESSAGE);
         }
+        List<String> keywords = Arrays.asList(args).subList(1, args.length);
+        return MultiKeywordAnalyzer.find(keywords, new File(args[0]), options);
+    }
+
+    static Result searchIndexed(String[] args, SearchOptions options) throws IOException {
+        File file = getFileIfValid(args);
+        String word = args[1];
+        return FileIndex.search(file, word, options);
+    }
+
+    static DirectoryResult searchDirectory(String[] args, SearchOptions options) throws IOException {
+        List<String> includes = new ArrayList<>();
+        List<String> excludes = new ArrayList<>();
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(INCLUDE_OPTION)) {
+                includes.add(arg.substring(INCLUDE_OPTION.length()));
+            } else if (arg.startsWith(EXCLUDE_OPTION)) {
+                excludes.add(arg.substring(EXCLUDE_OPTION.length()));
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() != 2 || !new File(positional.get(0)).isDirectory()) {
+            throw new IllegalArgumentException(INCORRECT_DIRECTORY_ARGUMENT_MESSAGE);
+        }
+        return DirectoryAnalyzer.find(positional.get(1), positional.get(0), includes, excludes, options);
+    }
+
+    static TermStatistics computeStatistics(String[] args, SearchOptions options) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            throw new IllegalArgumentException(INCORRECT_STATISTICS_ARGUMENT_MESSAGE);
+        }
+        int top = args.length == 2 ? Integer.parseInt(args[1]) : StatisticsAnalyzer.DEFAULT_TOP;
         File file = new File(args[0]);
+        if (file.isDirectory()) {
+            return StatisticsAnalyzer.analyzeDirectory(args[0], top, options);
+        }
         if (!file.isFile()) {
-            throw new IllegalArgumentException(INCORRECT_ARGUMENT_MESSAGE);
+            throw new IllegalArgumentException(INCORRECT_STATISTICS_ARGUMENT_MESSAGE);
         }
-        String word = args[1];
-        return find(word, file);
+        return StatisticsAnalyzer.analyze(file, top, options);
+    }
+
+    static Result find(String word, File file, SearchOptions options) throws IOException {
+        if (file.length() >= ParallelFileAnalyzer.PARALLEL_THRESHOLD
+                && CompressedInput.detect(file) == CompressedInput.Compression.NONE) {
+            return ParallelFileAnalyzer.find(word, file, options);
+        }
+        return findSequentially(word, file, options);
     }
 
-    private static Result find(String word, File file) throws IOException {
-        String content = getContent(file);
-        List<String> allSentences = breakIntoSentences(content);
-        List<String> searchedSentences = getSearchedSentences(allSentences, word);
-        int wordCount = getWordOccurrences(searchedSentences, word);
-        return new Result(wordCount, searchedSentences);
+    static Result findSequentially(String word, File file, SearchOptions options) throws IOException {
+        SentenceCollector collector = new SentenceCollector(options);
+        int wordCount = find(word, file, options, collector, collector);
+        return collector.toResult(wordCount);
+    }
+
+    static Map<String, Result> findInEntries(String word, File file, SearchOptions options) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        forEachEntry(file, (name, input) -> {
+            SentenceCollector collector = new SentenceCollector(options);
+            int wordCount = find(word, input, options, collector, collector);
+            results.put(name, collector.toResult(wordCount));
+        });
+        return results;
+    }
+
+    /**
+     * Reports the byte offset and byte length of every matching sentence instead of decoding it, so nothing but
+     * the count is kept in memory. Only uncompressed input in a charset the byte scanner supports has offsets.
+     */
+    static int findOffsets(String word, File file, SearchOptions options, SentenceOffsetConsumer offsetConsumer)
+            throws IOException {
+        Charset charset = Charsets.resolve(file, options);
+        if (CompressedInput.detect(file) != CompressedInput.Compression.NONE
+                || !ByteSentenceScanner.supports(word, charset, options.mode())) {
+            throw new IllegalArgumentException(String.format(OFFSETS_UNSUPPORTED_MESSAGE, file, charset));
+        }
+
+        int bomLength = Charsets.getBomLength(file, charset);
+        ByteSentenceScanner scanner = new ByteSentenceScanner(word, charset, options.mode(), bomLength,
+                (buffer, start, end, offset) -> offsetConsumer.accept(offset, end - start));
+        return scanAhead(scanner, file, bomLength);
+    }
+
+    private static int find(String word, File file, SearchOptions options, Consumer<String> sentenceConsumer,
+                            KeywordMatcher.EditDistanceListener editDistanceListener) throws IOException {
+        try (Metrics.Span span = Metrics.span(Phase.SEARCH)) {
+            span.addBytes(file.length());
+            int count = findInFile(word, file, options, sentenceConsumer, editDistanceListener);
+            span.succeeded();
+            return count;
+        }
+    }
+
+    private static int findInFile(String word, File file, SearchOptions options, Consumer<String> sentenceConsumer,
+                                  KeywordMatcher.EditDistanceListener editDistanceListener) throws IOException {
+        CompressedInput.Compression compression = CompressedInput.detect(file);
+        if (compression == CompressedInput.Compression.ZIP) {
+            int[] count = new int[1];
+            forEachEntry(file, (name, input) ->
+                    count[0] += find(word, input, options, sentenceConsumer, editDistanceListener));
+            return count[0];
+        }
+        if (compression == CompressedInput.Compression.NONE) {
+            Charset charset = Charsets.resolve(file, options);
+            if (ByteSentenceScanner.supports(word, charset, options.mode())) {
+                int bomLength = Charsets.getBomLength(file, charset);
+                ByteSentenceScanner scanner = new ByteSentenceScanner(word, charset, options.mode(), bomLength,
+                        (buffer, start, end, offset) ->
+                                sentenceConsumer.accept(ByteSentenceScanner.decode(buffer, start, end, charset)));
+                return scanAhead(scanner, file, bomLength);
+            }
+        }
+        try (InputStream inputStream = CompressedInput.open(file, compression)) {
+            return find(word, inputStream, options, sentenceConsumer, editDistanceListener);
+        }
+    }
+
+    static void forEachEntry(File file, EntryConsumer entryConsumer) throws IOException {
+        try (ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(file))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                if (!entry.isDirectory()) {
+                    entryConsumer.accept(entry.getName(), CompressedInput.nonClosing(zipInputStream));
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches {@code inputStream} and passes every matching sentence to {@code sentenceConsumer}. In fuzzy mode the
+     * matching words and their edit distances go to {@code editDistanceListener}, which may be null.
+     */
+    private static int find(String word, InputStream inputStream, SearchOptions options,
+                            Consumer<String> sentenceConsumer,
+                            KeywordMatcher.EditDistanceListener editDistanceListener) throws IOException {
+        PushbackInputStream input = new PushbackInputStream(inputStream, Charsets.HEAD_LENGTH);
+        byte[] head = Charsets.peekHead(input);
+        Charset charset = Charsets.resolve(head, options);
+        int bomLength = Charsets.getBomLength(head, charset);
+        input.skipNBytes(bomLength);
+        if (ByteSentenceScanner.supports(word, charset, options.mode())) {
+            return scan(word, input, charset, options.mode(), bomLength, sentenceConsumer);
+        }
+
+        KeywordMatcher matcher = KeywordMatcher.compile(word, options, editDistanceListener);
+        int count = 0;
+        try (SentenceReader reader = new SentenceReader(Charsets.newReader(input, charset))) {
+            while (true) {
+                long start = Metrics.start();
+                String sentence = reader.nextSentence();
+                Metrics.record(Phase.SEARCH_SPLIT, start, 0);
+                if (sentence == null) {
+                    break;
+                }
+
+                start = Metrics.start();
+                int occurrences = matcher.match(sentence);
+                Metrics.record(Phase.SEARCH_MATCH, start, 0);
+                if (occurrences >= 0) {
+                    count += occurrences;
+                    sentenceConsumer.accept(sentence);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int scan(String word, InputStream input, Charset charset, SearchMode mode, int bomLength,
+                            Consumer<String> sentenceConsumer) throws IOException {
+        ByteSentenceScanner scanner = new ByteSentenceScanner(word, charset, mode, bomLength,
+                (buffer, start, end, offset) ->
+                        sentenceConsumer.accept(ByteSentenceScanner.decode(buffer, start, end, charset)));
+        return scan(scanner, input);
+    }
+
+    private static int scan(ByteSentenceScanner scanner, InputStream input) throws IOException {
+        byte[] block = new byte[BLOCK_SIZE];
+        while (true) {
+            long start = Metrics.start();
+            int read = input.read(block);
+            if (read == -1) {
+                break;
+            }
+            Metrics.record(Phase.SEARCH_READ, start, read);
+
+            start = Metrics.start();
+            scanner.feed(ByteBuffer.wrap(block, 0, read));
+            Metrics.record(Phase.SEARCH_SCAN, start, read);
+        }
+        scanner.finish();
+        return scanner.count();
+    }
+
+    private static int scanAhead(ByteSentenceScanner scanner, File file, int bomLength) throws IOException {
+        ReadAheadReader.read(file.toPath(), bomLength, block -> {
+            long start = Metrics.start();
+            int length = block.remaining();
+            scanner.feed(block);
+            Metrics.record(Phase.SEARCH_SCAN, start, length);
+        });
+        scanner.finish();
+        return scanner.count();
     }
 
     static List<String> breakIntoSentences(String content) {
@@ -61,35 +336,126 @@ public class FileAnalyzer {
     }
 
     static int getWordOccurrences(List<String> sentences, String word) {
-        Pattern pattern = Pattern.compile("\\b" + word + "\\b");
+        KeywordMatcher matcher = KeywordMatcher.compile(word, SearchMode.EXACT);
         int count = 0;
         for (String searchedSentence : sentences) {
-            Matcher matcher = pattern.matcher(searchedSentence);
-            while (matcher.find()) {
-                count++;
-            }
+            count += Math.max(matcher.match(searchedSentence), 0);
         }
         return count;
     }
 
-    private static String getContent(File file) throws IOException {
-        String content;
-        try (FileInputStream inputStream = new FileInputStream(file)) {
-            content = new String(inputStream.readAllBytes());
+    private static File getFileIfValid(String[] args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException(INCORRECT_ARGUMENT_MESSAGE);
+        }
+        File file = new File(args[0]);
+        if (!file.isFile()) {
+            throw new IllegalArgumentException(INCORRECT_ARGUMENT_MESSAGE);
+        }
+        return file;
+    }
+
+    private static void runOption(String option, String[] args, SearchOptions options) throws IOException {
+        switch (option) {
+            case STREAM_OPTION -> {
+                int count = searchStreaming(args, options, System.out::println);
+                printCount(args[1], count);
+            }
+            case OFFSETS_OPTION -> {
+                int count = searchOffsets(args, options, (offset, length) ->
+                        System.out.println(offset + " " + length));
+                printCount(args[1], count);
+            }
+            case PARALLEL_OPTION -> print(args[1], searchParallel(args, options));
+            case KEYWORDS_OPTION -> searchKeywords(args, options).forEach(FileAnalyzer::print);
+            case INDEXED_OPTION -> print(args[1], searchIndexed(args, options));
+            case DIRECTORY_OPTION -> {
+                DirectoryResult result = searchDirectory(args, options);
+                result.files().forEach((path, fileResult) -> {
+                    System.out.println(path + ":");
+                    printCount(args[1], fileResult.count());
+                });
+                System.out.println("Total:");
+                print(args[1], result.total());
+            }
+            case SERVE_OPTION -> {
+                int port = args.length > 0 ? Integer.parseInt(args[0]) : AnalyzerServer.DEFAULT_PORT;
+                AnalyzerServer server = AnalyzerServer.start(port);
+                System.out.println("Listening on http://127.0.0.1:" + server.port() + AnalyzerServer.SEARCH_PATH);
+            }
+            case FOLLOW_OPTION -> follow(args, options);
+            case STATISTICS_OPTION -> print(computeStatistics(args, options));
+            default -> throw new IllegalArgumentException(String.format(UNKNOWN_OPTION_MESSAGE, option));
+        }
+    }
+
+    private static void follow(String[] args, SearchOptions options) throws IOException {
+        File file = getFileIfValid(Arrays.copyOf(args, Math.min(args.length, 2)));
+        long interval = args.length > 2 ? Long.parseLong(args[2]) : LogFollower.DEFAULT_POLL_INTERVAL_MILLIS;
+        LogFollower follower = new LogFollower(args[1], file.toPath(), options, System.out::println);
+        int restarts = 0;
+        while (true) {
+            if (follower.poll()) {
+                if (follower.restarts() > restarts) {
+                    restarts = follower.restarts();
+                    System.out.println("File was truncated or replaced, searching from the beginning.");
+                }
+                printCount(args[1], follower.result().count());
+            }
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
         }
-        return content;
     }
 
     private static void print(String word, Result result) {
-        String times = result.count() == 1 ? " time." : " times.";
+        print(System.out, word, result);
+    }
 
-        System.out.println("Passed keyword [" + word + "] occurred " + result.count() + times);
+    static void print(PrintStream out, String word, Result result) {
+        printCount(out, word, result.count());
         if (result.count() > 0) {
-            System.out.println("Sentences:");
+            out.println("Sentences:");
         }
         for (String s : result.sentences()) {
-            System.out.println(s);
+            out.println(s);
         }
+        if (result.truncated()) {
+            out.println("(only " + result.sentences().size() + " sentences shown)");
+        }
+        if (!result.editDistances().isEmpty()) {
+            out.println("Matched words:");
+        }
+        result.editDistances().forEach((matched, distance) -> out.println(matched + " (" + distance + " edits)"));
+    }
+
+    private static void print(TermStatistics statistics) {
+        System.out.println("Words: " + statistics.words() + " (" + statistics.distinctWords() + " distinct)");
+        System.out.println("Top words:");
+        statistics.topWords().forEach(term -> System.out.println(term.term() + " " + term.count()));
+        System.out.println("Top bigrams:");
+        statistics.topBigrams().forEach(term -> System.out.println(term.term() + " " + term.count()));
+    }
+
+    private static void printCount(String word, int count) {
+        printCount(System.out, word, count);
+    }
+
+    private static void printCount(PrintStream out, String word, int count) {
+        String times = count == 1 ? " time." : " times.";
+
+        out.println("Passed keyword [" + word + "] occurred " + count + times);
+    }
+
+    interface SentenceOffsetConsumer {
+        void accept(long offset, int length);
+    }
+
+    interface EntryConsumer {
+        void accept(String name, InputStream input) throws IOException;
     }
 
 }
@@ -0,0 +1,550 @@
+package com.luxcampus.fileanalyzer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A persistent inverted index of a text file. After the header, which identifies the indexed file, the index holds
+ * the sentence table, the sorted vocabulary, a suffix array over the vocabulary, the key bytes and the postings.
+ * All section offsets are longs and the file is mapped in overlapping segments, so indexes larger than 2 GB work.
+ */
+class FileIndex {
+
+    static final Path DEFAULT_INDEX_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "fileanalyzer-index");
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+    private static final int MAGIC = 0x46494458;
+    private static final int VERSION = 2;
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final int MAX_PATH_LENGTH = 64 * 1024;
+    private static final int SENTENCE_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int WORD_ENTRY_SIZE = 2 * Long.BYTES + 3 * Integer.BYTES;
+    private static final int SUFFIX_ENTRY_SIZE = 2 * Integer.BYTES;
+
+    private final File file;
+    private final Charset charset;
+    private final MappedByteBuffer[] segments;
+    private final int segmentSize;
+    private final int sentenceCount;
+    private final int wordCount;
+    private final long suffixCount;
+    private final long sentencesStart;
+    private final long wordsStart;
+    private final long suffixesStart;
+    private final long keysStart;
+    private final long postingsStart;
+
+    private FileIndex(File file, Charset charset, Header header, MappedByteBuffer[] segments, int segmentSize) {
+        this.file = file;
+        this.charset = charset;
+        this.segments = segments;
+        this.segmentSize = segmentSize;
+        this.sentenceCount = header.sentenceCount();
+        this.wordCount = header.wordCount();
+        this.suffixCount = header.suffixCount();
+
+        sentencesStart = header.length();
+        wordsStart = sentencesStart + (long) sentenceCount * SENTENCE_ENTRY_SIZE;
+        suffixesStart = wordsStart + (long) wordCount * WORD_ENTRY_SIZE;
+        keysStart = suffixesStart + suffixCount * SUFFIX_ENTRY_SIZE;
+        postingsStart = keysStart + header.keysLength();
+    }
+
+    static Result search(File file, String word, SearchOptions options) throws IOException {
+        return search(file, word, options, DEFAULT_INDEX_DIRECTORY);
+    }
+
+    static Result search(File file, String word, SearchOptions options, Path indexDirectory) throws IOException {
+        if (CompressedInput.detect(file) != CompressedInput.Compression.NONE) {
+            return FileAnalyzer.find(word, file, options);
+        }
+        Charset charset = Charsets.resolve(file, options);
+        if (options.mode() != SearchMode.EXACT || !Words.isWord(word) || !ByteSentenceScanner.supports(word, charset)) {
+            return FileAnalyzer.find(word, file, options);
+        }
+        return open(file, charset, indexDirectory).find(word, options);
+    }
+
+    static FileIndex open(File file, Charset charset, Path indexDirectory) throws IOException {
+        return open(file, charset, indexDirectory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    static FileIndex open(File file, Charset charset, Path indexDirectory, int segmentSize) throws IOException {
+        Path indexPath = getIndexPath(file, indexDirectory);
+        Header header = readHeader(indexPath, file, charset);
+        if (header == null) {
+            build(file, charset, indexPath);
+            header = readHeader(indexPath, file, charset);
+            if (header == null) {
+                throw new IOException("Index is out of date for " + file);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            return new FileIndex(file, charset, header, map(channel, segmentSize), segmentSize);
+        }
+    }
+
+    static Path getIndexPath(File file, Path indexDirectory) {
+        String absolutePath = file.getAbsolutePath();
+        return indexDirectory.resolve(file.getName() + "-" + Integer.toHexString(absolutePath.hashCode()) + ".idx");
+    }
+
+    Result find(String word) throws IOException {
+        return find(word, SearchOptions.DEFAULT);
+    }
+
+    Result find(String word, SearchOptions options) throws IOException {
+        byte[] key = word.getBytes(charset);
+        int wordIndex = indexOf(key);
+        int count = wordIndex < 0 ? 0 : getInt(wordEntry(wordIndex) + Long.BYTES + Integer.BYTES);
+
+        BitSet sentenceIds = new BitSet(sentenceCount);
+        for (long i = firstSuffix(key); i < suffixCount && compareSuffix(i, key, true) == 0; i++) {
+            long entry = wordEntry(getInt(suffixEntry(i)));
+            long postingsOffset = postingsStart + getLong(entry + Long.BYTES + 2 * Integer.BYTES) * Integer.BYTES;
+            int postingsCount = getInt(entry + 2 * Long.BYTES + 2 * Integer.BYTES);
+            for (int j = 0; j < postingsCount; j++) {
+                sentenceIds.set(getInt(postingsOffset + (long) j * Integer.BYTES));
+            }
+        }
+
+        SentenceCollector collector = new SentenceCollector(options);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            for (int id = sentenceIds.nextSetBit(0); id >= 0; id = sentenceIds.nextSetBit(id + 1)) {
+                long entry = sentencesStart + (long) id * SENTENCE_ENTRY_SIZE;
+                ByteBuffer sentence = ByteBuffer.allocate(getInt(entry + Long.BYTES));
+                long position = getLong(entry);
+                while (sentence.hasRemaining()) {
+                    if (channel.read(sentence, position + sentence.position()) < 0) {
+                        throw new IOException("Index is out of date for " + file);
+                    }
+                }
+                collector.accept(new String(sentence.array(), charset));
+            }
+        }
+        return collector.toResult(count);
+    }
+
+    private int indexOf(byte[] key) {
+        int low = 0;
+        int high = wordCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long entry = wordEntry(middle);
+            int comparison = compareBytes(keysStart + getLong(entry), getInt(entry + Long.BYTES), key, false);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first suffix of the vocabulary that is not smaller than {@code key}; all words containing the key
+     * follow it in the suffix array.
+     */
+    private long firstSuffix(byte[] key) {
+        long low = 0;
+        long high = suffixCount;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (compareSuffix(middle, key, false) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compareSuffix(long suffixIndex, byte[] key, boolean prefixOnly) {
+        long suffix = suffixEntry(suffixIndex);
+        long entry = wordEntry(getInt(suffix));
+        int offsetInKey = getInt(suffix + Integer.BYTES);
+        return compareBytes(keysStart + getLong(entry) + offsetInKey, getInt(entry + Long.BYTES) - offsetInKey, key,
+                prefixOnly);
+    }
+
+    private int compareBytes(long offset, int length, byte[] key, boolean prefixOnly) {
+        for (int i = 0; i < Math.min(length, key.length); i++) {
+            int comparison = Integer.compare(get(offset + i) & 0xff, key[i] & 0xff);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        if (prefixOnly && length >= key.length) {
+            return 0;
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private long wordEntry(int wordIndex) {
+        return wordsStart + (long) wordIndex * WORD_ENTRY_SIZE;
+    }
+
+    private long suffixEntry(long suffixIndex) {
+        return suffixesStart + suffixIndex * SUFFIX_ENTRY_SIZE;
+    }
+
+    private byte get(long position) {
+        return segments[(int) (position / segmentSize)].get((int) (position % segmentSize));
+    }
+
+    private int getInt(long position) {
+        return segments[(int) (position / segmentSize)].getInt((int) (position % segmentSize));
+    }
+
+    private long getLong(long position) {
+        return segments[(int) (position / segmentSize)].getLong((int) (position % segmentSize));
+    }
+
+    /**
+     * Maps the index in segments that overlap by a long, so a value starting in a segment can always be read from
+     * it.
+     */
+    private static MappedByteBuffer[] map(FileChannel channel, int segmentSize) throws IOException {
+        long size = channel.size();
+        MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + segmentSize - 1) / segmentSize)];
+        for (int i = 0; i < segments.length; i++) {
+            long start = (long) i * segmentSize;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                    Math.min(size - start, (long) segmentSize + Long.BYTES));
+        }
+        return segments;
+    }
+
+    /**
+     * Returns the header of the index at {@code indexPath}, or null if there is none or it was built for another
+     * file, another version of the file or another charset.
+     */
+    private static Header readHeader(Path indexPath, File file, Charset charset) throws IOException {
+        if (!Files.isRegularFile(indexPath)) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION
+                    || input.readLong() != file.length() || input.readLong() != file.lastModified()) {
+                return null;
+            }
+            byte[] charsetName = new byte[input.readUnsignedShort()];
+            input.readFully(charsetName);
+            if (!charset.name().equals(new String(charsetName, StandardCharsets.US_ASCII))) {
+                return null;
+            }
+            int pathLength = input.readInt();
+            if (pathLength < 0 || pathLength > MAX_PATH_LENGTH) {
+                return null;
+            }
+            byte[] path = new byte[pathLength];
+            input.readFully(path);
+            if (!file.getAbsolutePath().equals(new String(path, StandardCharsets.UTF_8))) {
+                return null;
+            }
+
+            int sentenceCount = input.readInt();
+            int wordCount = input.readInt();
+            long keysLength = input.readLong();
+            long suffixCount = input.readLong();
+            long length = 3 * Integer.BYTES + 4 * Long.BYTES + Short.BYTES + charsetName.length + Integer.BYTES
+                    + pathLength + Integer.BYTES;
+            return new Header(sentenceCount, wordCount, keysLength, suffixCount, length);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static void build(File file, Charset charset, Path indexPath) throws IOException {
+        long size = file.length();
+        long lastModified = file.lastModified();
+        int bomLength = Charsets.getBomLength(file, charset);
+
+        Files.createDirectories(indexPath.getParent());
+        String prefix = indexPath.getFileName().toString();
+        Path sentencesPath = Files.createTempFile(indexPath.getParent(), prefix, ".sentences");
+        Path tempPath = Files.createTempFile(indexPath.getParent(), prefix, ".tmp");
+        try {
+            Builder builder;
+            try (DataOutputStream sentences = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(sentencesPath)))) {
+                builder = new Builder(charset.equals(StandardCharsets.UTF_8), bomLength, sentences);
+                ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)
+                        .position(bomLength)) {
+                    while (channel.read(block.clear()) != -1) {
+                        block.flip();
+                        while (block.hasRemaining()) {
+                            builder.append(block.get());
+                        }
+                    }
+                }
+                builder.finish();
+            }
+
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(size);
+                output.writeLong(lastModified);
+                byte[] charsetName = charset.name().getBytes(StandardCharsets.US_ASCII);
+                output.writeShort(charsetName.length);
+                output.write(charsetName);
+                byte[] path = file.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+                output.writeInt(path.length);
+                output.write(path);
+                builder.writeTo(output, sentencesPath);
+            }
+            Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(sentencesPath);
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private record Header(int sentenceCount, int wordCount, long keysLength, long suffixCount, long length) {
+    }
+
+    /**
+     * Collects the vocabulary and postings on the heap and streams the sentence table to a temporary file, so the
+     * memory used grows with the number of distinct words rather than with the size of the file.
+     */
+    private static class Builder {
+
+        private final boolean utf8;
+        private final DataOutputStream sentences;
+        private final Map<Key, Word> words = new HashMap<>();
+        private ByteBuffer sentence = ByteBuffer.allocate(1024);
+        private int sentenceCount;
+        private long sentenceOffset;
+        private long position;
+
+        Builder(boolean utf8, long position, DataOutputStream sentences) {
+            this.utf8 = utf8;
+            this.sentences = sentences;
+            this.sentenceOffset = position;
+            this.position = position;
+        }
+
+        void append(byte b) throws IOException {
+            if (!sentence.hasRemaining()) {
+                sentence = ByteBuffer.allocate(sentence.capacity() * 2).put(sentence.flip());
+            }
+            sentence.put(b);
+            position++;
+            if (b == '.' || b == '?' || b == '!') {
+                finish();
+            }
+        }
+
+        void finish() throws IOException {
+            int length = sentence.position();
+            int start = 0;
+            int end = length;
+            while (start < end && (sentence.get(start) & 0xff) <= ' ') {
+                start++;
+            }
+            while (end > start && (sentence.get(end - 1) & 0xff) <= ' ') {
+                end--;
+            }
+
+            int sentenceId = sentenceCount;
+            boolean hasWords = false;
+            int index = start;
+            while (index < end) {
+                int tokenStart = index;
+                while (index < end && Words.isWordChar(Words.codePointAt(sentence, index, end, utf8))) {
+                    index += Words.codePointLength(sentence, index, end, utf8);
+                }
+                if (index > tokenStart) {
+                    byte[] token = new byte[index - tokenStart];
+                    sentence.get(tokenStart, token);
+                    words.computeIfAbsent(new Key(token), key -> new Word()).add(sentenceId);
+                    hasWords = true;
+                } else {
+                    index += Words.codePointLength(sentence, index, end, utf8);
+                }
+            }
+            if (hasWords) {
+                if (sentenceCount == Integer.MAX_VALUE) {
+                    throw new IOException("Too many sentences to index");
+                }
+                sentences.writeLong(sentenceOffset + start);
+                sentences.writeInt(end - start);
+                sentenceCount++;
+            }
+
+            sentence.clear();
+            sentenceOffset = position;
+        }
+
+        void writeTo(DataOutputStream output, Path sentencesPath) throws IOException {
+            List<Key> keys = new ArrayList<>(words.keySet());
+            keys.sort((first, second) -> Arrays.compareUnsigned(first.bytes, second.bytes));
+            long keysLength = 0;
+            for (Key key : keys) {
+                keysLength += key.bytes.length;
+            }
+            long[] suffixes = getSortedSuffixes(keys);
+
+            output.writeInt(sentenceCount);
+            output.writeInt(keys.size());
+            output.writeLong(keysLength);
+            output.writeLong(suffixes.length);
+            Files.copy(sentencesPath, output);
+
+            long keyOffset = 0;
+            long postingsOffset = 0;
+            for (Key key : keys) {
+                Word word = words.get(key);
+                output.writeLong(keyOffset);
+                output.writeInt(key.bytes.length);
+                output.writeInt(word.count);
+                output.writeLong(postingsOffset);
+                output.writeInt(word.postingsCount);
+                keyOffset += key.bytes.length;
+                postingsOffset += word.postingsCount;
+            }
+            for (long suffix : suffixes) {
+                output.writeInt((int) (suffix >>> 32));
+                output.writeInt((int) suffix);
+            }
+            for (Key key : keys) {
+                output.write(key.bytes);
+            }
+            for (Key key : keys) {
+                Word word = words.get(key);
+                for (int i = 0; i < word.postingsCount; i++) {
+                    output.writeInt(word.postings[i]);
+                }
+            }
+        }
+
+        /**
+         * Returns every suffix of every key as its word index in the high and its offset in the low half of a long,
+         * sorted by the suffix bytes. In UTF-8 suffixes start only at the first byte of a character.
+         */
+        private long[] getSortedSuffixes(List<Key> keys) throws IOException {
+            long count = 0;
+            for (Key key : keys) {
+                for (byte b : key.bytes) {
+                    if (isSuffixStart(b)) {
+                        count++;
+                    }
+                }
+            }
+            if (count > Integer.MAX_VALUE - 8) {
+                throw new IOException("Vocabulary is too large to index");
+            }
+
+            long[] suffixes = new long[(int) count];
+            int index = 0;
+            for (int word = 0; word < keys.size(); word++) {
+                byte[] bytes = keys.get(word).bytes;
+                for (int offset = 0; offset < bytes.length; offset++) {
+                    if (isSuffixStart(bytes[offset])) {
+                        suffixes[index++] = (long) word << 32 | offset;
+                    }
+                }
+            }
+            sort(suffixes, (first, second) -> {
+                byte[] firstKey = keys.get((int) (first >>> 32)).bytes;
+                byte[] secondKey = keys.get((int) (second >>> 32)).bytes;
+                return Arrays.compareUnsigned(firstKey, (int) first, firstKey.length,
+                        secondKey, (int) second, secondKey.length);
+            });
+            return suffixes;
+        }
+
+        private boolean isSuffixStart(byte b) {
+            return !utf8 || (b & 0xc0) != 0x80;
+        }
+    }
+
+    private interface LongComparator {
+        int compare(long first, long second);
+    }
+
+    /**
+     * Bottom-up merge sort of primitive longs, so sorting the suffixes does not box each of them.
+     */
+    private static void sort(long[] values, LongComparator comparator) {
+        long[] source = values;
+        long[] target = new long[values.length];
+        for (int width = 1; width < values.length; width *= 2) {
+            for (int low = 0; low < values.length; low += 2 * width) {
+                int middle = Math.min(low + width, values.length);
+                int high = Math.min(low + 2 * width, values.length);
+                int left = low;
+                int right = middle;
+                for (int i = low; i < high; i++) {
+                    if (left < middle && (right >= high || comparator.compare(source[left], source[right]) <= 0)) {
+                        target[i] = source[left++];
+                    } else {
+                        target[i] = source[right++];
+                    }
+                }
+            }
+            long[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != values) {
+            System.arraycopy(source, 0, values, 0, values.length);
+        }
+    }
+
+    private record Key(byte[] bytes) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Arrays.equals(bytes, key.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bytes);
+        }
+    }
+
+    private static class Word {
+
+        private int count;
+        private int[] postings = new int[1];
+        private int postingsCount;
+
+        void add(int sentenceId) {
+            count++;
+            if (postingsCount > 0 && postings[postingsCount - 1] == sentenceId) {
+                return;
+            }
+            if (postingsCount == postings.length) {
+                postings = Arrays.copyOf(postings, postingsCount * 2);
+            }
+            postings[postingsCount++] = sentenceId;
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.luxcampus.fileanalyzer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A keyword compiled once for a {@link SearchMode} and reused for every sentence of a search.
+ */
+interface KeywordMatcher {
+
+    /**
+     * Returns the number of occurrences the sentence adds to the count, or -1 if the sentence is not a match.
+     */
+    int match(String sentence);
+
+    static KeywordMatcher compile(String keyword, SearchMode mode) {
+        return compile(keyword, SearchOptions.DEFAULT.withMode(mode), null);
+    }
+
+    /**
+     * Compiles the keyword for the mode of {@code options}. In fuzzy mode every matching word is also reported to
+     * {@code listener}, which may be null.
+     */
+    static KeywordMatcher compile(String keyword, SearchOptions options, EditDistanceListener listener) {
+        return switch (options.mode()) {
+            case EXACT -> new LiteralMatcher(keyword, false, false);
+            case CASE_INSENSITIVE -> new LiteralMatcher(keyword, true, false);
+            case WHOLE_WORD -> new LiteralMatcher(keyword, false, true);
+            case REGEX -> new RegexMatcher(Pattern.compile(keyword));
+            case FUZZY -> new FuzzyMatcher(keyword, options.maxEdits(), listener);
+        };
+    }
+
+    interface EditDistanceListener {
+        void onHit(String word, int distance);
+    }
+
+    final class LiteralMatcher implements KeywordMatcher {
+
+        private final String keyword;
+        private final boolean ignoreCase;
+        private final boolean wholeWordOnly;
+        private final char firstLower;
+        private final char firstUpper;
+
+        LiteralMatcher(String keyword, boolean ignoreCase, boolean wholeWordOnly) {
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException(AhoCorasick.EMPTY_KEYWORD_MESSAGE);
+            }
+            this.keyword = keyword;
+            this.ignoreCase = ignoreCase;
+            this.wholeWordOnly = wholeWordOnly;
+            this.firstLower = Character.toLowerCase(keyword.charAt(0));
+            this.firstUpper = Character.toUpperCase(keyword.charAt(0));
+        }
+
+        @Override
+        public int match(String sentence) {
+            int hit = indexOf(sentence, 0);
+            if (hit < 0) {
+                return -1;
+            }
+
+            int count = 0;
+            int lastWordEnd = 0;
+            for (int index = hit; index >= 0; index = indexOf(sentence, index + 1)) {
+                int end = index + keyword.length();
+                if (index >= lastWordEnd && Words.isWholeWord(sentence, index, end)) {
+                    count++;
+                    lastWordEnd = end;
+                }
+            }
+            return wholeWordOnly && count == 0 ? -1 : count;
+        }
+
+        private int indexOf(String sentence, int from) {
+            if (!ignoreCase) {
+                return sentence.indexOf(keyword, from);
+            }
+            int last = sentence.length() - keyword.length();
+            for (int i = from; i <= last; i++) {
+                char c = sentence.charAt(i);
+                if ((c == firstLower || c == firstUpper || Character.toLowerCase(c) == firstLower)
+                        && sentence.regionMatches(true, i, keyword, 0, keyword.length())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Matches the words of a sentence within {@code maxEdits} Levenshtein edits of the keyword. The distance of each
+     * word is computed with Myers' bit-vector algorithm in Hyyro's formulation for whole strings, one 64-bit step
+     * per character, so a sentence is processed in linear time. Keywords are limited to 64 characters.
+     */
+    final class FuzzyMatcher implements KeywordMatcher {
+
+        static final String KEYWORD_TOO_LONG_MESSAGE = "Fuzzy keywords must not be longer than 64 characters";
+
+        private final int length;
+        private final int maxEdits;
+        private final EditDistanceListener listener;
+        private final long[] asciiMasks = new long[128];
+        private final Map<Character, Long> otherMasks = new HashMap<>();
+        private final long lastBit;
+
+        FuzzyMatcher(String keyword, int maxEdits, EditDistanceListener listener) {
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException(AhoCorasick.EMPTY_KEYWORD_MESSAGE);
+            }
+            if (keyword.length() > Long.SIZE) {
+                throw new IllegalArgumentException(KEYWORD_TOO_LONG_MESSAGE);
+            }
+            this.length = keyword.length();
+            this.maxEdits = maxEdits;
+            this.listener = listener;
+            this.lastBit = 1L << (length - 1);
+            for (int i = 0; i < length; i++) {
+                char c = keyword.charAt(i);
+                if (c < asciiMasks.length) {
+                    asciiMasks[c] |= 1L << i;
+                } else {
+                    otherMasks.merge(c, 1L << i, (a, b) -> a | b);
+                }
+            }
+        }
+
+        @Override
+        public int match(String sentence) {
+            int count = 0;
+            int index = 0;
+            int end = sentence.length();
+            while (index < end) {
+                while (index < end && !Words.isWordChar(sentence.charAt(index))) {
+                    index++;
+                }
+                int start = index;
+                while (index < end && Words.isWordChar(sentence.charAt(index))) {
+                    index++;
+                }
+                if (index > start && Math.abs(index - start - length) <= maxEdits) {
+                    int distance = distance(sentence, start, index);
+                    if (distance <= maxEdits) {
+                        count++;
+                        if (listener != null) {
+                            listener.onHit(sentence.substring(start, index), distance);
+                        }
+                    }
+                }
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        int distance(CharSequence text, int start, int end) {
+            long positive = -1L;
+            long negative = 0;
+            int score = length;
+            for (int i = start; i < end; i++) {
+                long equal = mask(text.charAt(i));
+                long vertical = equal | negative;
+                long horizontal = (((equal & positive) + positive) ^ positive) | equal;
+                long horizontalPositive = negative | ~(horizontal | positive);
+                long horizontalNegative = positive & horizontal;
+                if ((horizontalPositive & lastBit) != 0) {
+                    score++;
+                } else if ((horizontalNegative & lastBit) != 0) {
+                    score--;
+                }
+                horizontalPositive = (horizontalPositive << 1) | 1;
+                horizontalNegative <<= 1;
+                positive = horizontalNegative | ~(vertical | horizontalPositive);
+                negative = horizontalPositive & vertical;
+            }
+            return score;
+        }
+
+        private long mask(char c) {
+            return c < asciiMasks.length ? asciiMasks[c] : otherMasks.getOrDefault(c, 0L);
+        }
+    }
+
+    final class RegexMatcher implements KeywordMatcher {
+
+        private final Pattern pattern;
+
+        RegexMatcher(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public int match(String sentence) {
+            Matcher matcher = pattern.matcher(sentence);
+            int count = 0;
+            while (matcher.find()) {
+                count++;
+            }
+            return count == 0 ? -1 : count;
+        }
+    }
+
+}
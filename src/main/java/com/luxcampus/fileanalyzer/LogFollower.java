@@ -0,0 +1,171 @@
+package com.luxcampus.fileanalyzer;
+
+import com.luxcampus.metrics.Metrics;
+import com.luxcampus.metrics.Phase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.Consumer;
+
+/**
+ * Searches a growing file incrementally. Each {@link #poll()} decodes only the bytes appended since the previous
+ * one; the unterminated sentence at the end of the file is carried over and matched once it is complete. A file
+ * that shrinks or is replaced by another file under the same path restarts the search from its beginning.
+ */
+class LogFollower {
+
+    static final long DEFAULT_POLL_INTERVAL_MILLIS = 1000;
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final String word;
+    private final Path path;
+    private final SearchOptions options;
+    private final Consumer<String> sentenceConsumer;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BLOCK_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BLOCK_SIZE);
+    private final StringBuilder sentence = new StringBuilder();
+    private SentenceCollector collector;
+    private KeywordMatcher matcher;
+    private CharsetDecoder decoder;
+    private Object fileKey;
+    private long offset;
+    private int count;
+    private int restarts;
+
+    LogFollower(String word, Path path, SearchOptions options) {
+        this(word, path, options, null);
+    }
+
+    /**
+     * @param sentenceConsumer receives every matching sentence as soon as it is complete, or null to keep the
+     *                         sentences for {@link #result()} up to the sentence limit of {@code options}. Sentences
+     *                         passed to a consumer are not kept, so following a file takes constant memory.
+     */
+    LogFollower(String word, Path path, SearchOptions options, Consumer<String> sentenceConsumer) {
+        this.word = word;
+        this.path = path;
+        this.options = sentenceConsumer == null ? options : options.withSentenceLimit(0);
+        this.sentenceConsumer = sentenceConsumer;
+        reset();
+    }
+
+    /**
+     * Processes whatever was appended to the file since the last call. Returns false if the file neither grew nor
+     * restarted, including while it does not exist during a rotation.
+     */
+    boolean poll() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+
+        Object key = attributes.fileKey();
+        boolean replaced = fileKey != null && key != null && !fileKey.equals(key);
+        boolean restarted = attributes.size() < offset || replaced;
+        if (restarted) {
+            reset();
+            restarts++;
+        }
+        fileKey = key;
+        if (attributes.size() == offset) {
+            return restarted;
+        }
+
+        if (decoder == null) {
+            Charset charset = Charsets.resolve(path.toFile(), options);
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            offset = Charsets.getBomLength(path.toFile(), charset);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.position(offset);
+            while (true) {
+                long start = Metrics.start();
+                int read = channel.read(bytes);
+                if (read <= 0) {
+                    break;
+                }
+                Metrics.record(Phase.SEARCH_READ, start, read);
+                offset += read;
+
+                bytes.flip();
+                decoder.decode(bytes, chars, false);
+                bytes.compact();
+                chars.flip();
+                split();
+                chars.clear();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the count of every complete sentence read so far and, without a sentence consumer, their sentences.
+     */
+    Result result() {
+        return collector.toResult(count);
+    }
+
+    /**
+     * Returns the number of bytes of the file processed so far, including the carried partial sentence.
+     */
+    long offset() {
+        return offset;
+    }
+
+    /**
+     * Returns how many times truncation or rotation restarted the search.
+     */
+    int restarts() {
+        return restarts;
+    }
+
+    private void split() {
+        while (chars.hasRemaining()) {
+            char c = chars.get();
+            sentence.append(c);
+            if (SentenceReader.isSentenceEnd(c)) {
+                match(sentence.toString().trim());
+                sentence.setLength(0);
+            }
+        }
+    }
+
+    private void match(String text) {
+        long start = Metrics.start();
+        int occurrences = matcher.match(text);
+        Metrics.record(Phase.SEARCH_MATCH, start, 0);
+        if (occurrences >= 0) {
+            count += occurrences;
+            collector.accept(text);
+            if (sentenceConsumer != null) {
+                sentenceConsumer.accept(text);
+            }
+        }
+    }
+
+    private void reset() {
+        collector = new SentenceCollector(options);
+        matcher = KeywordMatcher.compile(word, options, collector);
+        decoder = null;
+        fileKey = null;
+        offset = 0;
+        count = 0;
+        bytes.clear();
+        sentence.setLength(0);
+    }
+
+}
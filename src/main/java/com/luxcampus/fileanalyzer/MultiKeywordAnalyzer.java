@@ -0,0 +1,136 @@
+package com.luxcampus.fileanalyzer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+class MultiKeywordAnalyzer {
+
+    static Map<String, Result> find(Collection<String> keywords, File file, SearchOptions options)
+            throws IOException {
+        List<String> distinctKeywords = new ArrayList<>(new LinkedHashSet<>(keywords));
+        if (options.mode() != SearchMode.EXACT) {
+            return findWithMatchers(distinctKeywords, file, options);
+        }
+        AhoCorasick automaton = new AhoCorasick(distinctKeywords);
+        SentenceState state = new SentenceState(automaton.keywordCount(), options);
+
+        forEachSentence(file, options, sentence -> state.scan(automaton, sentence));
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (int i = 0; i < automaton.keywordCount(); i++) {
+            results.put(automaton.keyword(i), state.sentences.get(i).toResult(state.counts[i]));
+        }
+        return results;
+    }
+
+    private static Map<String, Result> findWithMatchers(List<String> keywords, File file, SearchOptions options)
+            throws IOException {
+        KeywordMatcher[] matchers = new KeywordMatcher[keywords.size()];
+        SentenceCollector[] collectors = new SentenceCollector[keywords.size()];
+        int[] counts = new int[keywords.size()];
+        for (int i = 0; i < matchers.length; i++) {
+            collectors[i] = new SentenceCollector(options);
+            matchers[i] = KeywordMatcher.compile(keywords.get(i), options, collectors[i]);
+        }
+
+        forEachSentence(file, options, sentence -> {
+            for (int i = 0; i < matchers.length; i++) {
+                int occurrences = matchers[i].match(sentence);
+                if (occurrences >= 0) {
+                    counts[i] += occurrences;
+                    collectors[i].accept(sentence);
+                }
+            }
+        });
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (int i = 0; i < matchers.length; i++) {
+            results.put(keywords.get(i), collectors[i].toResult(counts[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Passes every sentence of {@code file} to {@code sentenceConsumer}, reading gzip files decompressed and zip
+     * archives entry by entry, as {@link FileAnalyzer} does.
+     */
+    private static void forEachSentence(File file, SearchOptions options, Consumer<String> sentenceConsumer)
+            throws IOException {
+        CompressedInput.Compression compression = CompressedInput.detect(file);
+        if (compression == CompressedInput.Compression.ZIP) {
+            FileAnalyzer.forEachEntry(file, (name, input) -> forEachSentence(input, options, sentenceConsumer));
+            return;
+        }
+        try (InputStream inputStream = CompressedInput.open(file, compression)) {
+            forEachSentence(inputStream, options, sentenceConsumer);
+        }
+    }
+
+    private static void forEachSentence(InputStream inputStream, SearchOptions options,
+                                        Consumer<String> sentenceConsumer) throws IOException {
+        PushbackInputStream input = new PushbackInputStream(inputStream, Charsets.HEAD_LENGTH);
+        byte[] head = Charsets.peekHead(input);
+        Charset charset = Charsets.resolve(head, options);
+        input.skipNBytes(Charsets.getBomLength(head, charset));
+        try (SentenceReader reader = new SentenceReader(Charsets.newReader(input, charset))) {
+            String sentence;
+            while ((sentence = reader.nextSentence()) != null) {
+                sentenceConsumer.accept(sentence);
+            }
+        }
+    }
+
+    private static class SentenceState {
+
+        private final int[] counts;
+        private final List<SentenceCollector> sentences = new ArrayList<>();
+        private final int[] lastMatchEnds;
+        private final boolean[] matched;
+        private final int[] matchedKeywords;
+        private int matchedCount;
+
+        SentenceState(int keywordCount, SearchOptions options) {
+            counts = new int[keywordCount];
+            lastMatchEnds = new int[keywordCount];
+            matched = new boolean[keywordCount];
+            matchedKeywords = new int[keywordCount];
+            for (int i = 0; i < keywordCount; i++) {
+                sentences.add(new SentenceCollector(options));
+            }
+        }
+
+        void scan(AhoCorasick automaton, String sentence) {
+            automaton.scan(sentence, (keyword, start, end) -> {
+                if (!matched[keyword]) {
+                    matched[keyword] = true;
+                    lastMatchEnds[keyword] = 0;
+                    matchedKeywords[matchedCount++] = keyword;
+                }
+                if (start >= lastMatchEnds[keyword] && Words.isWholeWord(sentence, start, end)) {
+                    counts[keyword]++;
+                    lastMatchEnds[keyword] = end;
+                }
+            });
+
+            Arrays.sort(matchedKeywords, 0, matchedCount);
+            for (int i = 0; i < matchedCount; i++) {
+                int keyword = matchedKeywords[i];
+                sentences.get(keyword).accept(sentence);
+                matched[keyword] = false;
+            }
+            matchedCount = 0;
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.luxcampus.fileanalyzer;
+
+import com.luxcampus.metrics.Metrics;
+import com.luxcampus.metrics.Phase;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+class ParallelFileAnalyzer {
+
+    static final long PARALLEL_THRESHOLD = 256L * 1024 * 1024;
+    static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+    /**
+     * A chunk runs to the first sentence end after its nominal size, so text without sentence ends makes it larger
+     * than one mapping can be. Such a chunk is mapped and scanned in windows of at most this size.
+     */
+    static final int MAX_MAPPING_SIZE = Integer.MAX_VALUE;
+    private static final int BOUNDARY_SCAN_SIZE = 4096;
+
+    static Result find(String word, File file, SearchOptions options) throws IOException {
+        return find(word, file, options, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    static Result find(String word, File file, SearchOptions options, int chunkSize, ForkJoinPool pool)
+            throws IOException {
+        return find(word, file, options, chunkSize, MAX_MAPPING_SIZE, pool);
+    }
+
+    static Result find(String word, File file, SearchOptions options, int chunkSize, int mappingSize,
+                       ForkJoinPool pool) throws IOException {
+        if (CompressedInput.detect(file) != CompressedInput.Compression.NONE) {
+            return FileAnalyzer.findSequentially(word, file, options);
+        }
+        Charset charset = Charsets.resolve(file, options);
+        if (!ByteSentenceScanner.supports(word, charset, options.mode())) {
+            return FileAnalyzer.findSequentially(word, file, options);
+        }
+
+        try (Metrics.Span span = Metrics.span(Phase.SEARCH);
+             FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            span.addBytes(channel.size());
+            long[] boundaries = getChunkBoundaries(channel, Charsets.getBomLength(file, charset), chunkSize);
+            ChunkTask task = new ChunkTask(channel, word, charset, options, mappingSize, boundaries, 0,
+                    boundaries.length - 1);
+            Result result = pool.invoke(task).toResult();
+            span.succeeded();
+            return result;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static long[] getChunkBoundaries(FileChannel channel, long start, int chunkSize) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(start);
+
+        long position = start;
+        while (position < size) {
+            position = position + chunkSize >= size ? size : getNextSentenceStart(channel, position + chunkSize);
+            boundaries.add(position);
+        }
+        if (start >= size) {
+            boundaries.add(start);
+        }
+
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long getNextSentenceStart(FileChannel channel, long from) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        long position = from;
+        int read;
+        while ((read = channel.read(buffer.clear(), position)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (SentenceReader.isSentenceEnd((char) buffer.get(i))) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return channel.size();
+    }
+
+    private static ChunkResult scanChunk(FileChannel channel, String word, Charset charset, SearchOptions options,
+                                         int mappingSize, long start, long end) throws IOException {
+        SentenceCollector collector = new SentenceCollector(options);
+        ByteSentenceScanner scanner = new ByteSentenceScanner(word, charset, options.mode(), start,
+                (chunk, from, to, offset) -> collector.accept(ByteSentenceScanner.decode(chunk, from, to, charset)));
+        long startTime = Metrics.start();
+        for (long position = start; position < end; position += mappingSize) {
+            scanner.feed(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(mappingSize, end - position)));
+        }
+        scanner.finish();
+        Metrics.record(Phase.SEARCH_SCAN, startTime, end - start);
+        return new ChunkResult(scanner.count(), collector);
+    }
+
+    private static ChunkResult merge(ChunkResult first, ChunkResult second) {
+        first.collector().merge(second.collector());
+        return new ChunkResult(first.count() + second.count(), first.collector());
+    }
+
+    private record ChunkResult(int count, SentenceCollector collector) {
+
+        Result toResult() {
+            return collector.toResult(count);
+        }
+    }
+
+    private static class ChunkTask extends RecursiveTask<ChunkResult> {
+
+        private final FileChannel channel;
+        private final String word;
+        private final Charset charset;
+        private final SearchOptions options;
+        private final int mappingSize;
+        private final long[] boundaries;
+        private final int from;
+        private final int to;
+
+        ChunkTask(FileChannel channel, String word, Charset charset, SearchOptions options, int mappingSize,
+                  long[] boundaries, int from, int to) {
+            this.channel = channel;
+            this.word = word;
+            this.charset = charset;
+            this.options = options;
+            this.mappingSize = mappingSize;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            if (to - from == 1) {
+                try {
+                    return scanChunk(channel, word, charset, options, mappingSize, boundaries[from],
+                            boundaries[to]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            int middle = (from + to) >>> 1;
+            ChunkTask first = new ChunkTask(channel, word, charset, options, mappingSize, boundaries, from,
+                    middle);
+            ChunkTask second = new ChunkTask(channel, word, charset, options, mappingSize, boundaries, middle,
+                    to);
+            first.fork();
+            ChunkResult secondResult = second.compute();
+            return merge(first.join(), secondResult);
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.luxcampus.fileanalyzer;
+
+import com.luxcampus.metrics.Metrics;
+import com.luxcampus.metrics.Phase;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Reads a file block by block with {@link AsynchronousFileChannel}, keeping {@code depth} reads in flight. While the
+ * consumer scans block N, the blocks after it are already being read, so a search takes about as long as the slower
+ * of reading and scanning instead of their sum. Blocks are pooled direct buffers and are only valid during
+ * {@link Consumer#accept(Object)}.
+ */
+class ReadAheadReader {
+
+    static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+    static final int DEFAULT_DEPTH = 3;
+    private static final DirectBufferPool DEFAULT_POOL =
+            new DirectBufferPool(DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors() * DEFAULT_DEPTH);
+
+    private ReadAheadReader() {
+    }
+
+    static void read(Path file, long start, Consumer<ByteBuffer> blockConsumer) throws IOException {
+        read(file, start, DEFAULT_POOL, DEFAULT_DEPTH, blockConsumer);
+    }
+
+    static void read(Path file, long start, DirectBufferPool pool, int depth, Consumer<ByteBuffer> blockConsumer)
+            throws IOException {
+        ByteBuffer[] blocks = new ByteBuffer[depth];
+        long[] positions = new long[depth];
+        List<Future<Integer>> reads = new ArrayList<>(Collections.nCopies(depth, null));
+
+        try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(file, StandardOpenOption.READ)) {
+            try {
+                long size = channel.size();
+                long next = start;
+                for (int slot = 0; slot < depth && next < size; slot++) {
+                    blocks[slot] = pool.acquire();
+                    next = startRead(channel, blocks[slot], next, size, positions, reads, slot);
+                }
+
+                for (int slot = 0; reads.get(slot) != null; slot = (slot + 1) % depth) {
+                    ByteBuffer block = blocks[slot];
+                    long waitStart = Metrics.start();
+                    await(reads.get(slot));
+                    reads.set(slot, null);
+                    while (block.hasRemaining()) {
+                        if (await(channel.read(block, positions[slot] + block.position())) < 0) {
+                            break;
+                        }
+                    }
+                    Metrics.record(Phase.SEARCH_READ, waitStart, block.position());
+
+                    blockConsumer.accept(block.flip());
+                    if (next < size) {
+                        next = startRead(channel, block.clear(), next, size, positions, reads, slot);
+                    }
+                }
+            } finally {
+                release(pool, blocks, reads);
+            }
+        }
+    }
+
+    private static long startRead(AsynchronousFileChannel channel, ByteBuffer block, long position, long size,
+                                  long[] positions, List<Future<Integer>> reads, int slot) {
+        block.limit((int) Math.min(block.capacity(), size - position));
+        positions[slot] = position;
+        reads.set(slot, channel.read(block, position));
+        return position + block.limit();
+    }
+
+    private static int await(Future<Integer> read) throws IOException {
+        try {
+            return read.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void release(DirectBufferPool pool, ByteBuffer[] blocks, List<Future<Integer>> reads) {
+        for (int slot = 0; slot < blocks.length; slot++) {
+            if (blocks[slot] == null) {
+                continue;
+            }
+            if (reads.get(slot) != null) {
+                try {
+                    reads.get(slot).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    continue;
+                } catch (ExecutionException e) {
+                    // the read failed, so the buffer is no longer written to
+                }
+            }
+            pool.release(blocks[slot]);
+        }
+    }
+
+}
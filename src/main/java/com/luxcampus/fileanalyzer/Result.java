@@ -1,6 +1,20 @@
 package com.luxcampus.fileanalyzer;
 
 import java.util.List;
+import java.util.Map;
 
-public record Result(int count, List<String> sentences) {
-}
\ No newline at end of file
+/**
+ * Count and sentences of a search. In fuzzy mode {@code editDistances} maps every distinct word that matched to its
+ * edit distance from the keyword; it is empty in the other modes.
+ */
+public record Result(int count, List<String> sentences, boolean truncated, Map<String, Integer> editDistances) {
+
+    public Result(int count, List<String> sentences) {
+        this(count, sentences, false);
+    }
+
+    public Result(int count, List<String> sentences, boolean truncated) {
+        this(count, sentences, truncated, Map.of());
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.luxcampus.fileanalyzer;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of search results. It is bounded by the characters of the cached sentences, so a few
+ * results with many sentences cannot push the server out of memory. An entry is keyed by the file modification time
+ * and size as well, so a changed file is searched again.
+ */
+class ResultCache {
+
+    static final long DEFAULT_MAX_CHARS = 16 * 1024 * 1024;
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final long maxChars;
+    private final Map<Key, Result> results = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedChars;
+
+    ResultCache() {
+        this(DEFAULT_MAX_CHARS);
+    }
+
+    ResultCache(long maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    synchronized Result get(Key key) {
+        return results.get(key);
+    }
+
+    /**
+     * Caches {@code result} under {@code key}, which has to be taken before the search, so a result of a file that
+     * changed during the search is not cached as the result of the changed file.
+     */
+    synchronized void put(Key key, Result result) {
+        long weight = weigh(result);
+        if (weight > maxChars) {
+            return;
+        }
+        Result previous = results.put(key, result);
+        if (previous != null) {
+            cachedChars -= weigh(previous);
+        }
+        cachedChars += weight;
+
+        var iterator = results.values().iterator();
+        while (cachedChars > maxChars) {
+            cachedChars -= weigh(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    synchronized int size() {
+        return results.size();
+    }
+
+    private static long weigh(Result result) {
+        long weight = ENTRY_OVERHEAD;
+        for (String sentence : result.sentences()) {
+            weight += sentence.length();
+        }
+        return weight;
+    }
+
+    record Key(String path, long lastModified, long length, String word, SearchOptions options) {
+
+        static Key of(File file, String word, SearchOptions options) {
+            File absoluteFile = file.getAbsoluteFile();
+            return new Key(absoluteFile.toPath().normalize().toString(), absoluteFile.lastModified(),
+                    absoluteFile.length(), word, options);
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.luxcampus.fileanalyzer;
+
+enum SearchMode {
+
+    /**
+     * Sentences containing the keyword, counting its whole-word occurrences.
+     */
+    EXACT,
+
+    /**
+     * Like {@link #EXACT}, ignoring case.
+     */
+    CASE_INSENSITIVE,
+
+    /**
+     * Only sentences with at least one whole-word occurrence of the keyword.
+     */
+    WHOLE_WORD,
+
+    /**
+     * Sentences with a match of the keyword as a regular expression, counting the matches.
+     */
+    REGEX,
+
+    /**
+     * Sentences with words within {@link SearchOptions#maxEdits()} edits of the keyword, counting those words.
+     */
+    FUZZY;
+
+    boolean isLiteralCaseSensitive() {
+        return this == EXACT || this == WHOLE_WORD;
+    }
+
+}
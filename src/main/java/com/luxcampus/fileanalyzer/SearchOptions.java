@@ -0,0 +1,72 @@
+package com.luxcampus.fileanalyzer;
+
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+record SearchOptions(Charset charset, int sentenceLimit, Retention retention, SearchMode mode, int maxEdits) {
+
+    static final int UNLIMITED = Integer.MAX_VALUE;
+    static final SearchOptions DEFAULT = new SearchOptions(null, UNLIMITED, Retention.FIRST, SearchMode.EXACT, 1);
+    static final String CHARSET_OPTION = "--charset";
+    static final String MAX_SENTENCES_OPTION = "--max-sentences";
+    static final String RETENTION_OPTION = "--keep";
+    static final String MODE_OPTION = "--mode";
+    static final String MAX_EDITS_OPTION = "--max-edits";
+    static final String AUTO_CHARSET = "auto";
+    static final String UNKNOWN_SETTING_MESSAGE = "Unknown setting %s";
+    static final String INCORRECT_LIMIT_MESSAGE = "Sentence limit must not be negative: %d";
+    static final String INCORRECT_EDITS_MESSAGE = "Maximum edits must not be negative: %d";
+
+    enum Retention {
+        FIRST, SAMPLE
+    }
+
+    SearchOptions {
+        if (sentenceLimit < 0) {
+            throw new IllegalArgumentException(String.format(INCORRECT_LIMIT_MESSAGE, sentenceLimit));
+        }
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException(String.format(INCORRECT_EDITS_MESSAGE, maxEdits));
+        }
+    }
+
+    static boolean isSetting(String arg) {
+        return arg.startsWith("--") && arg.contains("=");
+    }
+
+    SearchOptions with(String setting) {
+        int separator = setting.indexOf('=');
+        String name = setting.substring(0, separator);
+        String value = setting.substring(separator + 1);
+
+        return switch (name) {
+            case CHARSET_OPTION -> withCharset(value.equalsIgnoreCase(AUTO_CHARSET) ? null : Charset.forName(value));
+            case MAX_SENTENCES_OPTION -> withSentenceLimit(Integer.parseInt(value));
+            case RETENTION_OPTION -> withRetention(Retention.valueOf(value.toUpperCase(Locale.ROOT)));
+            case MODE_OPTION -> withMode(SearchMode.valueOf(value.replace('-', '_').toUpperCase(Locale.ROOT)));
+            case MAX_EDITS_OPTION -> withMaxEdits(Integer.parseInt(value));
+            default -> throw new IllegalArgumentException(String.format(UNKNOWN_SETTING_MESSAGE, setting));
+        };
+    }
+
+    SearchOptions withCharset(Charset charset) {
+        return new SearchOptions(charset, sentenceLimit, retention, mode, maxEdits);
+    }
+
+    SearchOptions withSentenceLimit(int sentenceLimit) {
+        return new SearchOptions(charset, sentenceLimit, retention, mode, maxEdits);
+    }
+
+    SearchOptions withRetention(Retention retention) {
+        return new SearchOptions(charset, sentenceLimit, retention, mode, maxEdits);
+    }
+
+    SearchOptions withMode(SearchMode mode) {
+        return new SearchOptions(charset, sentenceLimit, retention, mode, maxEdits);
+    }
+
+    SearchOptions withMaxEdits(int maxEdits) {
+        return new SearchOptions(charset, sentenceLimit, retention, mode, maxEdits);
+    }
+
+}
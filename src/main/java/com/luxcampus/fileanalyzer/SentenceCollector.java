@@ -0,0 +1,109 @@
+package com.luxcampus.fileanalyzer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Keeps at most {@link SearchOptions#sentenceLimit()} matching sentences, either the first ones or a uniform
+ * reservoir sample, so memory is bounded by the limit and not by the input. Sentences are returned in file order.
+ */
+class SentenceCollector implements Consumer<String>, KeywordMatcher.EditDistanceListener {
+
+    private final int limit;
+    private final boolean sample;
+    private final Random random = new Random();
+    private final List<Sentence> sentences = new ArrayList<>();
+    private final Map<String, Integer> editDistances = new LinkedHashMap<>();
+    private long seen;
+
+    SentenceCollector(SearchOptions options) {
+        this.limit = options.sentenceLimit();
+        this.sample = options.retention() == SearchOptions.Retention.SAMPLE;
+    }
+
+    @Override
+    public void accept(String sentence) {
+        long sequence = seen++;
+        if (sentences.size() < limit) {
+            sentences.add(new Sentence(sequence, sentence));
+        } else if (sample) {
+            long slot = random.nextLong(seen);
+            if (slot < limit) {
+                sentences.set((int) slot, new Sentence(sequence, sentence));
+            }
+        }
+    }
+
+    @Override
+    public void onHit(String word, int distance) {
+        editDistances.putIfAbsent(word, distance);
+    }
+
+    void addEditDistances(Map<String, Integer> distances) {
+        distances.forEach(this::onHit);
+    }
+
+    /**
+     * Appends the sentences collected by {@code other}, which must cover the input that follows this one.
+     */
+    void merge(SentenceCollector other) {
+        List<Sentence> following = new ArrayList<>(other.sentences.size());
+        for (Sentence sentence : other.sentences) {
+            following.add(new Sentence(seen + sentence.sequence(), sentence.text()));
+        }
+
+        if (!sample) {
+            for (int i = 0; i < following.size() && sentences.size() < limit; i++) {
+                sentences.add(following.get(i));
+            }
+        } else {
+            mergeSamples(following, other.seen);
+        }
+        seen += other.seen;
+        addEditDistances(other.editDistances);
+    }
+
+    Result toResult(int count) {
+        List<Sentence> ordered = new ArrayList<>(sentences);
+        if (sample) {
+            ordered.sort(Comparator.comparingLong(Sentence::sequence));
+        }
+        List<String> texts = new ArrayList<>(ordered.size());
+        for (Sentence sentence : ordered) {
+            texts.add(sentence.text());
+        }
+        Map<String, Integer> distances = Collections.unmodifiableMap(new LinkedHashMap<>(editDistances));
+        return new Result(count, texts, seen > texts.size(), distances);
+    }
+
+    private void mergeSamples(List<Sentence> following, long followingSeen) {
+        List<Sentence> preceding = new ArrayList<>(sentences);
+        Collections.shuffle(preceding, random);
+        Collections.shuffle(following, random);
+
+        long precedingLeft = seen;
+        long followingLeft = followingSeen;
+        int precedingIndex = 0;
+        int followingIndex = 0;
+        sentences.clear();
+        while (sentences.size() < limit && (precedingLeft > 0 || followingLeft > 0)) {
+            if (random.nextLong(precedingLeft + followingLeft) < precedingLeft) {
+                sentences.add(preceding.get(precedingIndex++));
+                precedingLeft--;
+            } else {
+                sentences.add(following.get(followingIndex++));
+                followingLeft--;
+            }
+        }
+    }
+
+    private record Sentence(long sequence, String text) {
+    }
+
+}
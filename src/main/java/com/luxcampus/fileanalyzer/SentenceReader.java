@@ -0,0 +1,71 @@
+package com.luxcampus.fileanalyzer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+class SentenceReader implements Closeable {
+
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private final StringBuilder sentence = new StringBuilder();
+    private int position;
+    private int limit;
+
+    SentenceReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    SentenceReader(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[bufferSize];
+    }
+
+    String nextSentence() throws IOException {
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(buffer);
+                position = 0;
+                if (limit == -1) {
+                    limit = 0;
+                    return flush();
+                }
+            }
+
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position++];
+                if (isSentenceEnd(c)) {
+                    sentence.append(buffer, start, position - start);
+                    return take();
+                }
+            }
+            sentence.append(buffer, start, position - start);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    static boolean isSentenceEnd(char c) {
+        return c == '.' || c == '?' || c == '!';
+    }
+
+    private String flush() {
+        if (sentence.length() == 0) {
+            return null;
+        }
+        return take();
+    }
+
+    private String take() {
+        String result = sentence.toString().trim();
+        sentence.setLength(0);
+        return result;
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.luxcampus.fileanalyzer;
+
+import com.luxcampus.filemanager.FileManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Builds word and bigram frequency tables. UTF-8 and ASCII files are split into chunks at sentence ends, each chunk
+ * is counted into its own tables on the fork/join pool and the tables are merged pairwise. Compressed input and
+ * other charsets are decoded sentence by sentence and counted sequentially.
+ */
+class StatisticsAnalyzer {
+
+    static final int DEFAULT_TOP = 10;
+
+    static TermStatistics analyze(File file, int top, SearchOptions options) throws IOException {
+        return count(file, options, ParallelFileAnalyzer.DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool())
+                .toStatistics(top);
+    }
+
+    /**
+     * Counts every text file under {@code directory}; binary files are skipped.
+     */
+    static TermStatistics analyzeDirectory(String directory, int top, SearchOptions options) throws IOException {
+        List<File> files = new ArrayList<>();
+        FileManager.forEachFile(directory, files::add);
+
+        TermCounter total = new TermCounter();
+        for (File file : files) {
+            if (!DirectoryAnalyzer.isBinary(file, options)) {
+                total.merge(count(file, options, ParallelFileAnalyzer.DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool()));
+            }
+        }
+        return total.toStatistics(top);
+    }
+
+    static TermCounter count(File file, SearchOptions options, int chunkSize, ForkJoinPool pool) throws IOException {
+        return count(file, options, chunkSize, ParallelFileAnalyzer.MAX_MAPPING_SIZE, pool);
+    }
+
+    static TermCounter count(File file, SearchOptions options, int chunkSize, int mappingSize, ForkJoinPool pool)
+            throws IOException {
+        CompressedInput.Compression compression = CompressedInput.detect(file);
+        if (compression == CompressedInput.Compression.ZIP) {
+            TermCounter counter = new TermCounter();
+            FileAnalyzer.forEachEntry(file, (name, input) -> count(input, options, counter));
+            return counter;
+        }
+        Charset charset = Charsets.resolve(file, options);
+        if (compression != CompressedInput.Compression.NONE || !isUtf8Compatible(charset)) {
+            TermCounter counter = new TermCounter();
+            try (InputStream input = CompressedInput.open(file, compression)) {
+                count(input, options, counter);
+            }
+            return counter;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long[] boundaries = ParallelFileAnalyzer.getChunkBoundaries(channel,
+                    Charsets.getBomLength(file, charset), chunkSize);
+            return pool.invoke(new ChunkTask(channel, mappingSize, boundaries, 0, boundaries.length - 1));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void count(InputStream inputStream, SearchOptions options, TermCounter counter)
+            throws IOException {
+        PushbackInputStream input = new PushbackInputStream(inputStream, Charsets.HEAD_LENGTH);
+        byte[] head = Charsets.peekHead(input);
+        Charset charset = Charsets.resolve(head, options);
+        input.skipNBytes(Charsets.getBomLength(head, charset));
+
+        try (SentenceReader reader = new SentenceReader(Charsets.newReader(input, charset))) {
+            String sentence;
+            while ((sentence = reader.nextSentence()) != null) {
+                counter.count(sentence);
+            }
+        }
+    }
+
+    private static boolean isUtf8Compatible(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Counts a chunk in mappings of at most {@code mappingSize} bytes. A mapping that does not reach the chunk end is
+     * counted up to its last ASCII separator, and the next one starts at the word before it, which is not counted
+     * again but still leads the next bigram.
+     */
+    private static TermCounter countChunk(FileChannel channel, int mappingSize, long start, long end)
+            throws IOException {
+        TermCounter counter = new TermCounter();
+        long position = start;
+        int overlap = 0;
+        while (position < end) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(mappingSize, end - position));
+            if (position + buffer.limit() == end) {
+                counter.count(buffer, 0, overlap, buffer.limit());
+                break;
+            }
+
+            int split = lastIndexOfSeparator(buffer, buffer.limit()) + 1;
+            int next = lastIndexOfSeparator(buffer, split - 1) + 1;
+            if (split == 0) {
+                split = buffer.limit();
+            }
+            if (next == 0) {
+                next = split;
+            }
+            counter.count(buffer, 0, overlap, split);
+            overlap = split - next;
+            position += next;
+        }
+        return counter;
+    }
+
+    private static int lastIndexOfSeparator(ByteBuffer buffer, int to) {
+        for (int i = to - 1; i >= 0; i--) {
+            byte b = buffer.get(i);
+            if (b >= 0 && !Words.isWordChar(b)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static class ChunkTask extends RecursiveTask<TermCounter> {
+
+        private final FileChannel channel;
+        private final int mappingSize;
+        private final long[] boundaries;
+        private final int from;
+        private final int to;
+
+        ChunkTask(FileChannel channel, int mappingSize, long[] boundaries, int from, int to) {
+            this.channel = channel;
+            this.mappingSize = mappingSize;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TermCounter compute() {
+            if (to - from == 1) {
+                try {
+                    return countChunk(channel, mappingSize, boundaries[from], boundaries[to]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            int middle = (from + to) >>> 1;
+            ChunkTask first = new ChunkTask(channel, mappingSize, boundaries, from, middle);
+            ChunkTask second = new ChunkTask(channel, mappingSize, boundaries, middle, to);
+            first.fork();
+            TermCounter secondCounter = second.compute();
+            return first.join().merge(secondCounter);
+        }
+    }
+
+}
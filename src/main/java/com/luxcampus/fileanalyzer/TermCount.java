@@ -0,0 +1,4 @@
+package com.luxcampus.fileanalyzer;
+
+public record TermCount(String term, long count) {
+}
@@ -0,0 +1,97 @@
+package com.luxcampus.fileanalyzer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits UTF-8 or ASCII bytes into words with the same word characters as the keyword search and counts the words
+ * and the bigrams within each sentence.
+ */
+final class TermCounter {
+
+    private static final byte BIGRAM_SEPARATOR = ' ';
+
+    private final TermTable words = new TermTable();
+    private final TermTable bigrams = new TermTable();
+    private byte[] key = new byte[256];
+
+    void count(String sentence) {
+        byte[] bytes = sentence.getBytes(StandardCharsets.UTF_8);
+        count(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * Counts the words between {@code from} and {@code to}. Bigrams never span a sentence end, so regions split at
+     * sentence ends give the same counts as the whole text.
+     */
+    void count(ByteBuffer buffer, int from, int to) {
+        count(buffer, from, from, to);
+    }
+
+    /**
+     * Counts the words that start between {@code wordsFrom} and {@code to}. Words before {@code wordsFrom} were
+     * counted with the previous region and only lead the bigram of the first word counted here.
+     */
+    void count(ByteBuffer buffer, int from, int wordsFrom, int to) {
+        int previousStart = -1;
+        int previousEnd = -1;
+        int index = from;
+        while (index < to) {
+            int codePoint = Words.codePointAt(buffer, index, to, true);
+            if (!Words.isWordChar(codePoint)) {
+                if (codePoint < 0x80 && SentenceReader.isSentenceEnd((char) codePoint)) {
+                    previousStart = -1;
+                }
+                index += Words.codePointLength(buffer, index, to, true);
+                continue;
+            }
+
+            int start = index;
+            do {
+                index += Words.codePointLength(buffer, index, to, true);
+            } while (index < to && Words.isWordChar(Words.codePointAt(buffer, index, to, true)));
+
+            if (start >= wordsFrom) {
+                int length = index - start;
+                ensureKeyCapacity(length);
+                buffer.get(start, key, 0, length);
+                words.add(key, 0, length);
+                if (previousStart >= 0) {
+                    int previousLength = previousEnd - previousStart;
+                    ensureKeyCapacity(previousLength + 1 + length);
+                    buffer.get(previousStart, key, 0, previousLength);
+                    key[previousLength] = BIGRAM_SEPARATOR;
+                    buffer.get(start, key, previousLength + 1, length);
+                    bigrams.add(key, 0, previousLength + 1 + length);
+                }
+            }
+            previousStart = start;
+            previousEnd = index;
+        }
+    }
+
+    TermCounter merge(TermCounter other) {
+        words.merge(other.words);
+        bigrams.merge(other.bigrams);
+        return this;
+    }
+
+    TermTable words() {
+        return words;
+    }
+
+    TermTable bigrams() {
+        return bigrams;
+    }
+
+    TermStatistics toStatistics(int top) {
+        return new TermStatistics(words.total(), words.size(), words.top(top), bigrams.top(top));
+    }
+
+    private void ensureKeyCapacity(int length) {
+        if (key.length < length) {
+            key = new byte[Math.max(key.length * 2, length)];
+        }
+    }
+
+}
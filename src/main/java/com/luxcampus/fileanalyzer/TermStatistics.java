@@ -0,0 +1,9 @@
+package com.luxcampus.fileanalyzer;
+
+import java.util.List;
+
+/**
+ * Word counts of a file or directory. Bigrams are two consecutive words of the same sentence joined by a space.
+ */
+public record TermStatistics(long words, int distinctWords, List<TermCount> topWords, List<TermCount> topBigrams) {
+}
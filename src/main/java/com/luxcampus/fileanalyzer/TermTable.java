@@ -0,0 +1,179 @@
+package com.luxcampus.fileanalyzer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Counts byte-string terms in an open-addressing hash table with linear probing. The bytes of every distinct term
+ * are copied once into a shared arena and each slot holds only the arena offset, length, hash and a primitive
+ * count, so no object is allocated per term or per occurrence. Terms are UTF-8 encoded.
+ */
+final class TermTable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int INITIAL_ARENA_SIZE = 16 * 1024;
+
+    private byte[] arena = new byte[INITIAL_ARENA_SIZE];
+    private int arenaSize;
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private int size;
+    private long total;
+
+    void add(byte[] key, int from, int length) {
+        add(key, from, length, hash(key, from, length), 1);
+    }
+
+    /**
+     * Adds every count of {@code other} to this table.
+     */
+    void merge(TermTable other) {
+        for (int slot = 0; slot < other.lengths.length; slot++) {
+            if (other.lengths[slot] != 0) {
+                add(other.arena, other.offsets[slot], other.lengths[slot], other.hashes[slot], other.counts[slot]);
+            }
+        }
+    }
+
+    long count(String term) {
+        byte[] key = term.getBytes(StandardCharsets.UTF_8);
+        if (key.length == 0) {
+            return 0;
+        }
+        int slot = find(key, 0, key.length, hash(key, 0, key.length));
+        return lengths[slot] == 0 ? 0 : counts[slot];
+    }
+
+    /**
+     * Returns the number of distinct terms.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the sum of all counts.
+     */
+    long total() {
+        return total;
+    }
+
+    /**
+     * Returns the {@code k} most frequent terms, most frequent first and equally frequent terms in byte order. Only
+     * {@code k} slots are kept in the heap at any time.
+     */
+    List<TermCount> top(int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, (first, second) -> compareRank(second, first));
+        for (int slot = 0; slot < lengths.length; slot++) {
+            if (lengths[slot] != 0) {
+                if (heap.size() < k) {
+                    heap.add(slot);
+                } else if (compareRank(slot, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(slot);
+                }
+            }
+        }
+
+        List<TermCount> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int slot = heap.poll();
+            top.add(new TermCount(new String(arena, offsets[slot], lengths[slot], StandardCharsets.UTF_8),
+                    counts[slot]));
+        }
+        Collections.reverse(top);
+        return top;
+    }
+
+    private void add(byte[] key, int from, int length, int hash, long delta) {
+        int slot = find(key, from, length, hash);
+        if (lengths[slot] == 0) {
+            offsets[slot] = store(key, from, length);
+            lengths[slot] = length;
+            hashes[slot] = hash;
+            size++;
+        }
+        counts[slot] += delta;
+        total += delta;
+
+        if (size * 4 > lengths.length * 3) {
+            resize();
+        }
+    }
+
+    private int find(byte[] key, int from, int length, int hash) {
+        int mask = lengths.length - 1;
+        int slot = hash & mask;
+        while (lengths[slot] != 0) {
+            if (hashes[slot] == hash && lengths[slot] == length
+                    && Arrays.equals(arena, offsets[slot], offsets[slot] + length, key, from, from + length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int store(byte[] key, int from, int length) {
+        if (arenaSize + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+        }
+        System.arraycopy(key, from, arena, arenaSize, length);
+        int offset = arenaSize;
+        arenaSize += length;
+        return offset;
+    }
+
+    private void resize() {
+        int[] oldHashes = hashes;
+        int[] oldOffsets = offsets;
+        int[] oldLengths = lengths;
+        long[] oldCounts = counts;
+        int capacity = oldLengths.length * 2;
+        hashes = new int[capacity];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        counts = new long[capacity];
+
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldLengths.length; oldSlot++) {
+            if (oldLengths[oldSlot] != 0) {
+                int slot = oldHashes[oldSlot] & mask;
+                while (lengths[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[oldSlot];
+                offsets[slot] = oldOffsets[oldSlot];
+                lengths[slot] = oldLengths[oldSlot];
+                counts[slot] = oldCounts[oldSlot];
+            }
+        }
+    }
+
+    private int compareRank(int first, int second) {
+        int byCount = Long.compare(counts[second], counts[first]);
+        if (byCount != 0) {
+            return byCount;
+        }
+        return Arrays.compareUnsigned(arena, offsets[first], offsets[first] + lengths[first],
+                arena, offsets[second], offsets[second] + lengths[second]);
+    }
+
+    private static int hash(byte[] key, int from, int length) {
+        int hash = 0x811c9dc5;
+        for (int i = from; i < from + length; i++) {
+            hash = (hash ^ key[i]) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+}
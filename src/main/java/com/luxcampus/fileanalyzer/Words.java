@@ -0,0 +1,82 @@
+package com.luxcampus.fileanalyzer;
+
+import java.nio.ByteBuffer;
+
+final class Words {
+
+    private static final int REPLACEMENT_CHARACTER = 0xfffd;
+
+    private Words() {
+    }
+
+    static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    static boolean isWordChar(int codePoint) {
+        return Character.isLetterOrDigit(codePoint) || codePoint == '_';
+    }
+
+    static boolean isWord(String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (!isWordChar(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int codePointAt(ByteBuffer buffer, int index, int limit, boolean utf8) {
+        int lead = buffer.get(index) & 0xff;
+        if (!utf8 || lead < 0x80) {
+            return lead;
+        }
+        int length = codePointLength(lead);
+        if (length == 1 || index + length > limit) {
+            return REPLACEMENT_CHARACTER;
+        }
+        int codePoint = lead & (0x7f >> length);
+        for (int i = 1; i < length; i++) {
+            codePoint = (codePoint << 6) | (buffer.get(index + i) & 0x3f);
+        }
+        return codePoint;
+    }
+
+    static int codePointBefore(ByteBuffer buffer, int index, int limit, boolean utf8) {
+        int start = index - 1;
+        if (utf8) {
+            while (start > limit && start > index - 4 && (buffer.get(start) & 0xc0) == 0x80) {
+                start--;
+            }
+        }
+        return codePointAt(buffer, start, index, utf8);
+    }
+
+    static int codePointLength(ByteBuffer buffer, int index, int limit, boolean utf8) {
+        int lead = buffer.get(index) & 0xff;
+        if (!utf8 || lead < 0x80) {
+            return 1;
+        }
+        return Math.min(codePointLength(lead), limit - index);
+    }
+
+    /**
+     * Returns whether the match from {@code start} to {@code end} is not part of a longer word. A boundary is only
+     * required at the ends of the match that are word characters, so "C++" is a whole word in "I like C++ a lot".
+     */
+    static boolean isWholeWord(CharSequence text, int start, int end) {
+        boolean wordStart = isWordChar(text.charAt(start));
+        boolean wordBefore = start > 0 && isWordChar(text.charAt(start - 1));
+        boolean wordEnd = isWordChar(text.charAt(end - 1));
+        boolean wordAfter = end < text.length() && isWordChar(text.charAt(end));
+        return !(wordStart && wordBefore) && !(wordEnd && wordAfter);
+    }
+
+    private static int codePointLength(int lead) {
+        return lead >= 0xf0 ? 4 : lead >= 0xe0 ? 3 : lead >= 0xc0 ? 2 : 1;
+    }
+
+}
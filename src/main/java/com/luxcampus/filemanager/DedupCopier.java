@@ -0,0 +1,168 @@
+package com.luxcampus.filemanager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.luxcampus.filemanager.FileManager.NO_ACCESS_TO_FILES_MESSAGE;
+
+/**
+ * Copies a tree writing each distinct file content once. Files are grouped by size first, and only sizes shared by
+ * several files are hashed, in parallel, with SHA-256. The first file of every content is copied and the others become
+ * hard links to it. Where the destination does not support hard links, they are copied instead.
+ */
+class DedupCopier {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final int threads;
+
+    DedupCopier(int threads) {
+        this.threads = threads;
+    }
+
+    DedupReport copy(Path from, Path to) throws IOException {
+        List<SourceFile> files = collect(from, to);
+        Map<Long, List<SourceFile>> bySize = new LinkedHashMap<>();
+        for (SourceFile file : files) {
+            bySize.computeIfAbsent(file.size(), size -> new ArrayList<>()).add(file);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Map<SourceFile, String> hashes = hashCandidates(bySize, executor);
+
+            Map<String, SourceFile> originals = new LinkedHashMap<>();
+            List<SourceFile> unique = new ArrayList<>();
+            Map<SourceFile, SourceFile> duplicates = new LinkedHashMap<>();
+            for (SourceFile file : files) {
+                String hash = hashes.get(file);
+                SourceFile original = hash == null ? null : originals.putIfAbsent(file.size() + ":" + hash, file);
+                if (original == null) {
+                    unique.add(file);
+                } else {
+                    duplicates.put(file, original);
+                }
+            }
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (SourceFile file : unique) {
+                futures.add(executor.submit(() -> {
+                    ParallelCopier.copyFile(file.source(), file.target(), file.size(), new Transfer());
+                    return null;
+                }));
+            }
+            ParallelCopier.await(futures);
+
+            long filesLinked = 0;
+            long bytesSaved = 0;
+            long bytesCopied = 0;
+            for (SourceFile file : unique) {
+                bytesCopied += file.size();
+            }
+            for (Map.Entry<SourceFile, SourceFile> duplicate : duplicates.entrySet()) {
+                SourceFile file = duplicate.getKey();
+                if (link(file.target(), duplicate.getValue().target())) {
+                    filesLinked++;
+                    bytesSaved += file.size();
+                } else {
+                    ParallelCopier.copyFile(file.source(), file.target(), file.size(), new Transfer());
+                    bytesCopied += file.size();
+                }
+            }
+            return new DedupReport(files.size() - filesLinked, filesLinked, bytesCopied, bytesSaved);
+        } finally {
+            ParallelCopier.shutdown(executor);
+        }
+    }
+
+    static String hash(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static List<SourceFile> collect(Path from, Path to) throws IOException {
+        List<SourceFile> files = new ArrayList<>();
+        if (!Files.isDirectory(from)) {
+            files.add(new SourceFile(from, to, Files.size(from)));
+            return files;
+        }
+
+        Files.walkFileTree(from, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(to.resolve(from.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                files.add(new SourceFile(file, to.resolve(from.relativize(file)), attrs.size()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                throw new IllegalArgumentException(NO_ACCESS_TO_FILES_MESSAGE + file);
+            }
+        });
+        return files;
+    }
+
+    private static Map<SourceFile, String> hashCandidates(Map<Long, List<SourceFile>> bySize,
+                                                          ExecutorService executor) throws IOException {
+        Map<SourceFile, String> hashes = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<SourceFile> sameSize : bySize.values()) {
+            if (sameSize.size() > 1) {
+                for (SourceFile file : sameSize) {
+                    futures.add(executor.submit(() -> hashes.put(file, hash(file.source()))));
+                }
+            }
+        }
+        ParallelCopier.await(futures);
+        return hashes;
+    }
+
+    private static boolean link(Path link, Path existing) throws IOException {
+        try {
+            Files.deleteIfExists(link);
+            Files.createLink(link, existing);
+            return true;
+        } catch (UnsupportedOperationException | IOException e) {
+            return false;
+        }
+    }
+
+    private record SourceFile(Path source, Path target, long size) {
+    }
+
+}
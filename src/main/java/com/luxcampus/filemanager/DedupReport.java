@@ -0,0 +1,4 @@
+package com.luxcampus.filemanager;
+
+public record DedupReport(long filesCopied, long filesLinked, long bytesCopied, long bytesSaved) {
+}
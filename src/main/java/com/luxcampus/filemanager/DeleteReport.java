@@ -0,0 +1,12 @@
+package com.luxcampus.filemanager;
+
+import java.io.IOException;
+import java.util.List;
+
+public record DeleteReport(long entries, long bytes, List<IOException> failures) {
+
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+}
@@ -1,110 +1,175 @@
 package com.luxcampus.filemanager;
 
+import com.luxcampus.metrics.Metrics;
+import com.luxcampus.metrics.Phase;
+
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 public class FileManager {
 
     static final String INCORRECT_ARGUMENT_MESSAGE = "Please make sure to pass a directory (not a file). %s is not valid argument";
     static final String INCORRECT_DESTINATION_MESSAGE = "Please make sure destination directory is not a file and source exists.";
+    static final String NOT_EXISTING_PATH_MESSAGE = "Please make sure to pass an existing path. %s does not exist";
     static final String NO_ACCESS_TO_FILES_MESSAGE = "Do not have permissions to access some of the files/folders in path: ";
 
     public static int countFiles(String path) {
-        File file = getFileIfValidDirectory(path);
-        return countFiles(file);
+        return (int) statsFollowingLinks(path).files();
     }
 
     public static int countDirs(String path) {
+        return (int) statsFollowingLinks(path).dirs();
+    }
+
+    public static TreeStats stats(String path) {
+        File file = getFileIfValidDirectory(path);
+        try {
+            return TreeStatsCollector.collect(file.toPath());
+        } catch (IOException e) {
+            throw new IllegalArgumentException(NO_ACCESS_TO_FILES_MESSAGE + path, e);
+        }
+    }
+
+    public static TreeStats parallelStats(String path) {
         File file = getFileIfValidDirectory(path);
-        return countDirs(file);
+        try {
+            return TreeStatsCollector.collectParallel(file.toPath());
+        } catch (IOException e) {
+            throw new IllegalArgumentException(NO_ACCESS_TO_FILES_MESSAGE + path, e);
+        }
+    }
+
+    public static void forEachFile(String path, Consumer<File> action) {
+        File file = getFileIfValidDirectory(path);
+        forEachFile(file, action);
     }
 
     public static void move(String from, String to) throws IOException {
-        copy(from, to);
-        delete(new File(from));
+        File fromFile = new File(from);
+        File toFile = new File(to);
+        if (!fromFile.exists() || toFile.isFile()) {
+            throw new IllegalArgumentException(INCORRECT_DESTINATION_MESSAGE);
+        }
+        try (Metrics.Span span = Metrics.span(Phase.MOVE)) {
+            TreeMover.move(fromFile.toPath(), toFile.toPath());
+            span.succeeded();
+        }
     }
 
     public static void copy(String from, String to) throws IOException {
+        copy(from, to, ParallelCopier.DEFAULT_THREADS);
+    }
+
+    public static void copy(String from, String to, int threads) throws IOException {
         File fromFile = new File(from);
         File toFile = new File(to);
         if (!fromFile.exists() || toFile.isFile()) {
             throw new IllegalArgumentException(INCORRECT_DESTINATION_MESSAGE);
         } else {
-            copy(fromFile, toFile);
+            new ParallelCopier(threads).copy(fromFile.toPath(), toFile.toPath());
         }
     }
 
-    static void delete(File directory) {
-        File[] files = getFilesOf(directory);
+    public static SyncReport sync(String from, String to) throws IOException {
+        return sync(from, to, false);
+    }
 
-        for (File file : files) {
-            if (file.isFile()) {
-                file.delete();
-            } else {
-                file.deleteOnExit();
-                delete(file);
+    public static SyncReport sync(String from, String to, boolean compareContent) throws IOException {
+        Path fromPath = getTransferSource(from, to);
+        return new IncrementalCopier(ParallelCopier.DEFAULT_THREADS, compareContent).copy(fromPath, Path.of(to));
+    }
+
+    public static DedupReport copyDeduplicated(String from, String to) throws IOException {
+        Path fromPath = getTransferSource(from, to);
+        return new DedupCopier(ParallelCopier.DEFAULT_THREADS).copy(fromPath, Path.of(to));
+    }
+
+    public static Transfer copyAsync(String from, String to) {
+        return copyAsync(from, to, ParallelCopier.DEFAULT_THREADS);
+    }
+
+    public static Transfer copyAsync(String from, String to, int threads) {
+        Path fromPath = getTransferSource(from, to);
+        Path toPath = Path.of(to);
+        return startTransfer("copy", fromPath, transfer -> new ParallelCopier(threads, transfer).copy(fromPath, toPath));
+    }
+
+    public static Transfer moveAsync(String from, String to) {
+        Path fromPath = getTransferSource(from, to);
+        Path toPath = Path.of(to);
+        return startTransfer("move", fromPath, transfer -> {
+            try (Metrics.Span span = Metrics.span(Phase.MOVE)) {
+                TreeMover.move(fromPath, toPath, transfer);
+                span.succeeded();
             }
-        }
-        directory.delete();
+        });
     }
 
-    private static void copy(File fromDestination, File toDestination) throws IOException {
-        if (fromDestination.isFile()) {
-            copyFile(fromDestination, toDestination);
-        } else {
-            copyDirectory(fromDestination, toDestination);
+    public static DeleteReport delete(String path) {
+        File file = new File(path);
+        if (!file.exists()) {
+            throw new IllegalArgumentException(String.format(NOT_EXISTING_PATH_MESSAGE, path));
         }
+        return delete(file);
     }
 
-    private static void copyDirectory(File fromDestination, File toDestination) throws IOException {
-        if (!toDestination.exists()) {
-            toDestination.mkdir();
+    static DeleteReport delete(File directory) {
+        try (Metrics.Span span = Metrics.span(Phase.DELETE)) {
+            DeleteReport report = TreeDeleter.delete(directory.toPath());
+            span.addBytes(report.bytes());
+            if (report.isComplete()) {
+                span.succeeded();
+            }
+            return report;
         }
+    }
 
-        for (String fileName : getFileNamesOf(fromDestination)) {
-            File fromFileChild = new File(fromDestination, fileName);
-            File toFileChild = new File(toDestination, fileName);
-            copy(fromFileChild, toFileChild);
+    private static TreeStats statsFollowingLinks(String path) {
+        File file = getFileIfValidDirectory(path);
+        try {
+            return TreeStatsCollector.collectFollowingLinks(file.toPath());
+        } catch (IOException e) {
+            throw new IllegalArgumentException(NO_ACCESS_TO_FILES_MESSAGE + path, e);
         }
     }
 
-    private static void copyFile(File fromFile, File toFile) throws IOException {
-        try (FileInputStream inputStream = new FileInputStream(fromFile);
-             FileOutputStream outputStream = new FileOutputStream(toFile)) {
-            inputStream.transferTo(outputStream);
+    private static Path getTransferSource(String from, String to) {
+        File fromFile = new File(from);
+        if (!fromFile.exists() || new File(to).isFile()) {
+            throw new IllegalArgumentException(INCORRECT_DESTINATION_MESSAGE);
         }
+        return fromFile.toPath();
     }
 
-    private static int countFiles(File file) {
-        int count = 0;
-        File[] files = getFilesOf(file);
-
-        for (File innerFile : files) {
-            if (innerFile.isFile()) {
-                count++;
-            } else {
-                count += countFiles(innerFile);
+    private static Transfer startTransfer(String name, Path source, TransferWork work) {
+        Transfer transfer = new Transfer();
+        Thread thread = new Thread(() -> {
+            try {
+                TreeStats totals = TreeStatsCollector.collect(source);
+                transfer.setTotals(totals.files(), totals.totalBytes());
+                work.run(transfer);
+                transfer.complete();
+            } catch (Throwable e) {
+                transfer.fail(e);
             }
-        }
-
-        return count;
+        }, name + "-" + source.getFileName());
+        thread.start();
+        return transfer;
     }
 
-    private static int countDirs(File file) {
-        int count = 0;
+    private static void forEachFile(File file, Consumer<File> action) {
         File[] files = getFilesOf(file);
 
         for (File innerFile : files) {
-            if (innerFile.isDirectory()) {
-                count++;
-                count += countDirs(innerFile);
+            if (innerFile.isFile()) {
+                action.accept(innerFile);
+            } else {
+                forEachFile(innerFile, action);
             }
         }
-
-        return count;
     }
 
     private static File getFileIfValidDirectory(String path) {
@@ -128,14 +193,8 @@ public class FileManager {
         return files;
     }
 
-    private static String[] getFileNamesOf(File file) {
-        String[] files = file.list();
-
-        if (Objects.isNull(files)) {
-            throw new IllegalArgumentException(NO_ACCESS_TO_FILES_MESSAGE + file.getPath());
-        }
-
-        return files;
+    private interface TransferWork {
+        void run(Transfer transfer) throws IOException;
     }
 
 }
@@ -0,0 +1,202 @@
+package com.luxcampus.filemanager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.luxcampus.filemanager.FileManager.NO_ACCESS_TO_FILES_MESSAGE;
+
+/**
+ * Mirrors a tree into a destination, copying only the files that changed. A destination file is up to date when its
+ * size and modification time match the source, or, in content mode, when its bytes are equal to the source.
+ * Modification times match when they differ by less than the precision of the coarser one, so destinations that
+ * store times in seconds or in two-second steps, like FAT, do not make every file look changed.
+ * <p>
+ * Every file is written to a temporary {@code .partial} sibling first and renamed into place, so the destination
+ * never holds a half-written file under its real name. Completed files are appended to a journal next to the
+ * destination root, outside the mirrored tree. A run that is interrupted leaves the journal behind, and the next run
+ * trusts the files listed there without comparing their content again, as long as their size and modification time
+ * still match the source. The journal is deleted when a run completes.
+ */
+class IncrementalCopier {
+
+    static final String JOURNAL_NAME = ".sync-journal";
+    private static final long[] TIME_PRECISIONS_NANOS = {2_000_000_000L, 1_000_000_000L, 1_000_000L, 1_000L};
+
+    private final int threads;
+    private final boolean compareContent;
+    private final LongAdder copied = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder bytesCopied = new LongAdder();
+
+    IncrementalCopier(int threads, boolean compareContent) {
+        this.threads = threads;
+        this.compareContent = compareContent;
+    }
+
+    SyncReport copy(Path from, Path to) throws IOException {
+        if (!Files.isDirectory(from)) {
+            copyIfChanged(from, to, Files.readAttributes(from, BasicFileAttributes.class));
+            return report();
+        }
+
+        Files.createDirectories(to);
+        Path journalPath = journalPath(to);
+        Set<String> journaled = readJournal(journalPath);
+        try (BufferedWriter journal = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            copyTree(from, to, journaled, journal, journalPath);
+        }
+        Files.delete(journalPath);
+        return report();
+    }
+
+    /**
+     * Returns the journal of the destination {@code to}, a hidden sibling of it. Only a destination without a parent
+     * keeps its journal inside, and then a source file of the same name is not mirrored.
+     */
+    static Path journalPath(Path to) {
+        Path destination = to.toAbsolutePath().normalize();
+        if (destination.getParent() == null) {
+            return destination.resolve(JOURNAL_NAME);
+        }
+        return destination.resolveSibling("." + destination.getFileName() + JOURNAL_NAME);
+    }
+
+    private void copyTree(Path from, Path to, Set<String> journaled, BufferedWriter journal, Path journalPath)
+            throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            Files.walkFileTree(from, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(to.resolve(from.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String relativePath = from.relativize(file).toString();
+                    Path target = to.resolve(relativePath);
+                    if (target.toAbsolutePath().normalize().equals(journalPath)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    futures.add(executor.submit(() -> {
+                        if (journaled.contains(relativePath) && isSameSizeAndTime(target, attrs)) {
+                            skipped.increment();
+                            return null;
+                        }
+                        copyIfChanged(file, target, attrs);
+                        writeJournal(journal, relativePath);
+                        return null;
+                    }));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    throw new IllegalArgumentException(NO_ACCESS_TO_FILES_MESSAGE + file);
+                }
+            });
+            ParallelCopier.await(futures);
+        } finally {
+            ParallelCopier.shutdown(executor);
+        }
+    }
+
+    private void copyIfChanged(Path from, Path to, BasicFileAttributes attrs) throws IOException {
+        if (isUpToDate(from, to, attrs)) {
+            skipped.increment();
+            return;
+        }
+
+        ParallelCopier.copyFile(from, to, attrs.size(), new Transfer());
+        Files.setLastModifiedTime(to, attrs.lastModifiedTime());
+        copied.increment();
+        bytesCopied.add(attrs.size());
+    }
+
+    private boolean isUpToDate(Path from, Path to, BasicFileAttributes attrs) throws IOException {
+        if (compareContent) {
+            return isSameSize(to, attrs) && Files.mismatch(from, to) == -1;
+        }
+        return isSameSizeAndTime(to, attrs);
+    }
+
+    private static boolean isSameSize(Path target, BasicFileAttributes attrs) throws IOException {
+        return Files.isRegularFile(target) && Files.size(target) == attrs.size();
+    }
+
+    private static boolean isSameSizeAndTime(Path target, BasicFileAttributes attrs) throws IOException {
+        if (!isSameSize(target, attrs)) {
+            return false;
+        }
+        return isSameTime(attrs.lastModifiedTime(), Files.getLastModifiedTime(target));
+    }
+
+    /**
+     * Returns whether two modification times are equal at the precision of the coarser one. The difference has to
+     * stay below that precision rather than vanish after truncation, since some file systems round times up.
+     */
+    static boolean isSameTime(FileTime source, FileTime target) {
+        long sourceNanos = toNanos(source);
+        long targetNanos = toNanos(target);
+        long window = Math.max(precisionNanos(sourceNanos), precisionNanos(targetNanos));
+        return Math.abs(sourceNanos - targetNanos) < window;
+    }
+
+    private static long toNanos(FileTime time) {
+        return time.to(TimeUnit.NANOSECONDS);
+    }
+
+    private static long precisionNanos(long nanos) {
+        for (long precision : TIME_PRECISIONS_NANOS) {
+            if (nanos % precision == 0) {
+                return precision;
+            }
+        }
+        return 1;
+    }
+
+    private static Set<String> readJournal(Path journalPath) throws IOException {
+        if (Files.notExists(journalPath)) {
+            return Set.of();
+        }
+        return new HashSet<>(Files.readAllLines(journalPath, StandardCharsets.UTF_8));
+    }
+
+    private static void writeJournal(BufferedWriter journal, String relativePath) {
+        synchronized (journal) {
+            try {
+                journal.write(relativePath);
+                journal.newLine();
+                journal.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private SyncReport report() {
+        return new SyncReport(copied.sum(), skipped.sum(), bytesCopied.sum());
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.luxcampus.filemanager;
+
+import com.luxcampus.metrics.Metrics;
+import com.luxcampus.metrics.Phase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.luxcampus.filemanager.FileManager.NO_ACCESS_TO_FILES_MESSAGE;
+
+class ParallelCopier {
+
+    static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    static final long TRANSFER_THRESHOLD = 1024 * 1024;
+    static final long TRANSFER_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final Set<FileVisitOption> FOLLOW_LINKS = EnumSet.of(FileVisitOption.FOLLOW_LINKS);
+
+    private final int threads;
+    private final Transfer transfer;
+
+    ParallelCopier(int threads) {
+        this(threads, new Transfer());
+    }
+
+    ParallelCopier(int threads, Transfer transfer) {
+        this.threads = threads;
+        this.transfer = transfer;
+    }
+
+    void copy(Path from, Path to) throws IOException {
+        try (Metrics.Span span = Metrics.span(Phase.COPY)) {
+            copyTree(from, to);
+            span.succeeded();
+        } catch (CancellationException e) {
+            transfer.deleteCreated();
+            throw e;
+        }
+    }
+
+    private void copyTree(Path from, Path to) throws IOException {
+        if (!Files.isDirectory(from)) {
+            copyFile(from, to, Files.size(from), transfer);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long listStart = Metrics.start();
+            Files.walkFileTree(from, FOLLOW_LINKS, Integer.MAX_VALUE, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    transfer.checkCancelled();
+                    Path target = to.resolve(from.relativize(dir));
+                    if (Files.notExists(target)) {
+                        transfer.created(target);
+                    }
+                    Files.createDirectories(target);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    transfer.checkCancelled();
+                    Path target = to.resolve(from.relativize(file));
+                    if (attrs.isSymbolicLink()) {
+                        copyLink(file, target, transfer);
+                        return FileVisitResult.CONTINUE;
+                    }
+                    futures.add(executor.submit(() -> {
+                        copyFile(file, target, attrs.size(), transfer);
+                        return null;
+                    }));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                    if (exc instanceof FileSystemLoopException) {
+                        copyLink(file, to.resolve(from.relativize(file)), transfer);
+                        return FileVisitResult.CONTINUE;
+                    }
+                    Metrics.error(Phase.COPY_LIST);
+                    throw new IllegalArgumentException(NO_ACCESS_TO_FILES_MESSAGE + file);
+                }
+            });
+            Metrics.record(Phase.COPY_LIST, listStart, 0);
+            await(futures);
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    /**
+     * Recreates the symbolic link {@code from} at {@code to}. Links are followed while copying a tree, like the
+     * content of linked directories and files is copied, so only links that cannot be followed get here: dangling
+     * links and links to a directory that contains them.
+     */
+    private static void copyLink(Path from, Path to, Transfer transfer) throws IOException {
+        if (Files.isSymbolicLink(to)) {
+            Files.delete(to);
+        } else if (Files.notExists(to)) {
+            transfer.created(to);
+        }
+        Files.createSymbolicLink(to, Files.readSymbolicLink(from));
+    }
+
+    /**
+     * Copies {@code from} into a uniquely named hidden {@code .partial} sibling of {@code to} and renames it over
+     * {@code to}. An existing target is replaced rather than written through, so it stays intact if the copy fails or
+     * is cancelled, and files hard linked to it keep their content. The unique name cannot collide with other files
+     * of the source or destination, including ones that end with {@code .partial} themselves.
+     */
+    static void copyFile(Path from, Path to, long size, Transfer transfer) throws IOException {
+        transfer.checkCancelled();
+        if (Files.notExists(to)) {
+            transfer.created(to);
+        }
+        Path partial = Files.createTempFile(to.toAbsolutePath().getParent(), "." + to.getFileName() + ".",
+                TreeMover.PARTIAL_SUFFIX);
+        try (Metrics.Span span = Metrics.span(Phase.COPY_FILE)) {
+            span.addBytes(size);
+            transfer(from, partial, size, transfer);
+            Files.move(partial, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            span.succeeded();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        transfer.fileDone();
+    }
+
+    private static void transfer(Path from, Path to, long size, Transfer transfer) throws IOException {
+        if (size < TRANSFER_THRESHOLD) {
+            Files.copy(from, to, StandardCopyOption.REPLACE_EXISTING);
+            transfer.addBytes(size);
+            return;
+        }
+
+        try (FileChannel source = FileChannel.open(from, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(to, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            long remaining = source.size();
+            while (remaining > 0) {
+                transfer.checkCancelled();
+                long transferred = source.transferTo(position, Math.min(remaining, TRANSFER_CHUNK_SIZE), target);
+                position += transferred;
+                remaining -= transferred;
+                transfer.addBytes(transferred);
+            }
+        }
+        copyPermissions(from, to);
+    }
+
+    /**
+     * Gives {@code to} the permissions of {@code from}, as {@link Files#copy} does, instead of the owner-only
+     * permissions of the staging file.
+     */
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        if (to.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+        }
+    }
+
+    static void await(List<Future<?>> futures) throws IOException {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof CancellationException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof IOException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof UncheckedIOException cause) {
+                    throw cause.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    static void shutdown(ExecutorService executor) {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.luxcampus.filemanager;
+
+public record SyncReport(long filesCopied, long filesSkipped, long bytesCopied) {
+}
@@ -0,0 +1,118 @@
+package com.luxcampus.filemanager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Handle of a running copy or move, see {@link FileManager#copyAsync(String, String)} and
+ * {@link FileManager#moveAsync(String, String)}.
+ * <p>
+ * Cancellation is cooperative: workers stop at the next file or transfer chunk. A cancelled copy deletes the files
+ * and directories it created, including the file that was half-written, and files it was replacing keep their old
+ * content. A cancelled move stops between files. Files that were already moved stay at the destination, and the file
+ * in flight is left only at the source. The {@link #completion()} future completes once the workers have stopped and
+ * the cleanup has finished. Cancelling the future only requests cancellation, like {@link #cancel()}, and the future
+ * completes with a {@link CancellationException} after the cleanup.
+ */
+public class Transfer {
+
+    static final String CANCELLED_MESSAGE = "Transfer was cancelled";
+
+    private final CompletableFuture<Void> completion = new Completion();
+    private final LongAdder bytesDone = new LongAdder();
+    private final LongAdder filesDone = new LongAdder();
+    private final Deque<Path> created = new ConcurrentLinkedDeque<>();
+    private final long startNanos = System.nanoTime();
+    private volatile long bytesTotal;
+    private volatile long filesTotal;
+    private volatile boolean cancelled;
+
+    Transfer() {
+    }
+
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public TransferProgress progress() {
+        long bytes = bytesDone.sum();
+        long elapsed = System.nanoTime() - startNanos;
+        double rate = elapsed <= 0 ? 0 : bytes * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        return new TransferProgress(bytes, bytesTotal, filesDone.sum(), filesTotal, rate);
+    }
+
+    void setTotals(long files, long bytes) {
+        filesTotal = files;
+        bytesTotal = bytes;
+    }
+
+    void addBytes(long bytes) {
+        bytesDone.add(bytes);
+    }
+
+    void fileDone() {
+        filesDone.increment();
+    }
+
+    void markAllDone() {
+        bytesDone.add(bytesTotal - bytesDone.sum());
+        filesDone.add(filesTotal - filesDone.sum());
+    }
+
+    void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException(CANCELLED_MESSAGE);
+        }
+    }
+
+    /**
+     * Remembers a path the transfer is about to create, so a cancelled copy can remove it again.
+     */
+    void created(Path path) {
+        created.push(path);
+    }
+
+    void deleteCreated() throws IOException {
+        Path path;
+        while ((path = created.poll()) != null) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    void complete() {
+        completion.complete(null);
+    }
+
+    void fail(Throwable error) {
+        completion.completeExceptionally(error);
+    }
+
+    private class Completion extends CompletableFuture<Void> {
+
+        /**
+         * Requests cancellation without completing the future, which completes from the transfer thread once the
+         * cleanup has finished. Returns false because the transfer is not cancelled yet when this method returns.
+         */
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            Transfer.this.cancel();
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.luxcampus.filemanager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public record TransferProgress(long bytesDone, long bytesTotal, long filesDone, long filesTotal,
+                               double bytesPerSecond) {
+
+    public double fraction() {
+        return bytesTotal == 0 ? (filesTotal == 0 ? 1 : (double) filesDone / filesTotal)
+                : (double) bytesDone / bytesTotal;
+    }
+
+    public Optional<Duration> estimatedRemaining() {
+        if (bytesPerSecond <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofMillis((long) ((bytesTotal - bytesDone) * 1000 / bytesPerSecond)));
+    }
+
+}
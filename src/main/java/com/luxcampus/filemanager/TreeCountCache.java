@@ -0,0 +1,423 @@
+package com.luxcampus.filemanager;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.luxcampus.filemanager.FileManager.INCORRECT_ARGUMENT_MESSAGE;
+import static com.luxcampus.filemanager.FileManager.NO_ACCESS_TO_FILES_MESSAGE;
+
+/**
+ * Keeps file and directory counts of queried trees current from {@link WatchService} events. Every watched
+ * directory is a node that holds the counts of its watched subtree, so a query of an unchanged tree is answered
+ * without touching the file system, and nested roots share their nodes.
+ * <p>
+ * At most {@code maxDirectories} directories are watched. When a scan reaches the limit, the least recently used
+ * directories of trees that were not queried are evicted bottom-up, and directories that still do not fit are left
+ * unwatched and walked on every query. Directories the operating system refuses to watch, for example because the
+ * inotify watches of the user ran out, are left unwatched in the same way, and the limit is lowered to the number
+ * of directories watched at that point.
+ */
+public class TreeCountCache implements Closeable {
+
+    private static final int FALLBACK_MAX_DIRECTORIES = 8192;
+    private static final Path INOTIFY_WATCH_LIMIT = Path.of("/proc/sys/fs/inotify/max_user_watches");
+    static final int DEFAULT_MAX_DIRECTORIES = defaultMaxDirectories();
+
+    private int maxDirectories;
+    private final Map<Path, Node> nodes = new LinkedHashMap<>(16, 0.75f, true);
+    private WatchService watchService;
+    private long epoch;
+
+    public TreeCountCache() {
+        this(DEFAULT_MAX_DIRECTORIES);
+    }
+
+    public TreeCountCache(int maxDirectories) {
+        if (maxDirectories < 1) {
+            throw new IllegalArgumentException("Maximum directories must be positive: " + maxDirectories);
+        }
+        this.maxDirectories = maxDirectories;
+    }
+
+    public synchronized int countFiles(String path) {
+        return (int) count(path)[0];
+    }
+
+    public synchronized int countDirs(String path) {
+        return (int) count(path)[1];
+    }
+
+    synchronized int watchedDirectories() {
+        return nodes.size();
+    }
+
+    /**
+     * Half of the inotify watch limit on Linux, which all processes of the user share, and 8192 elsewhere.
+     */
+    private static int defaultMaxDirectories() {
+        try {
+            // procfs reports a size that does not match the content, so the file is read by line
+            List<String> lines = Files.readAllLines(INOTIFY_WATCH_LIMIT);
+            return Math.max(1, Integer.parseInt(lines.get(0).trim()) / 2);
+        } catch (IOException | NumberFormatException | IndexOutOfBoundsException e) {
+            return FALLBACK_MAX_DIRECTORIES;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+        nodes.clear();
+    }
+
+    private long[] count(String path) {
+        File file = new File(path);
+        if (!file.isDirectory()) {
+            throw new IllegalArgumentException(String.format(INCORRECT_ARGUMENT_MESSAGE, path));
+        }
+
+        Path root = file.toPath().toAbsolutePath().normalize();
+        try {
+            if (watchService == null) {
+                try {
+                    watchService = root.getFileSystem().newWatchService();
+                } catch (IOException e) {
+                    TreeStats stats = TreeStatsCollector.collect(root);
+                    return new long[]{stats.files(), stats.dirs()};
+                }
+            }
+            epoch++;
+            refresh();
+
+            Node node = nodes.get(root);
+            if (node == null) {
+                evictCold();
+                Node parent = nodes.get(root.getParent());
+                node = build(root, parent);
+                if (node == null) {
+                    TreeStats stats = TreeStatsCollector.collect(root);
+                    return new long[]{stats.files(), stats.dirs()};
+                }
+                if (parent != null) {
+                    parent.unwatched.remove(root);
+                    propagate(parent, node.treeFiles, node.treeDirs, node.unwatchedBelow - 1);
+                }
+            }
+            node.used = epoch;
+
+            while (node.unwatchedBelow > 0) {
+                evictCold();
+                if (nodes.size() >= maxDirectories || expand(node) == 0) {
+                    break;
+                }
+            }
+            return countWithUnwatched(node);
+        } catch (AccessDeniedException e) {
+            throw new IllegalArgumentException(NO_ACCESS_TO_FILES_MESSAGE + path, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void refresh() throws IOException {
+        Set<Path> changed = new HashSet<>();
+        Set<Path> invalid = new HashSet<>();
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            Path directory = (Path) key.watchable();
+            key.pollEvents();
+            changed.add(directory);
+            if (!key.reset()) {
+                invalid.add(directory);
+            }
+        }
+
+        for (Path directory : changed) {
+            Node node = nodes.get(directory);
+            if (node == null) {
+                continue;
+            }
+            if (Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+                if (invalid.contains(directory)) {
+                    node.key = tryRegister(directory);
+                    if (node.key == null) {
+                        unwatch(node);
+                        continue;
+                    }
+                }
+                rescan(node);
+            } else if (node.parent == null) {
+                removeSubtree(node);
+            }
+        }
+    }
+
+    /**
+     * Creates nodes for {@code directory} and its subtree until the limit is reached and returns the node, or null
+     * if the limit leaves no room for it. Nodes that already exist are reused.
+     */
+    private Node build(Path directory, Node parent) throws IOException {
+        Node existing = nodes.get(directory);
+        if (existing != null) {
+            existing.parent = parent;
+            return existing;
+        }
+        if (nodes.size() >= maxDirectories) {
+            return null;
+        }
+        WatchKey key = tryRegister(directory);
+        if (key == null) {
+            return null;
+        }
+
+        Node node = new Node(directory, key, parent);
+        node.used = epoch;
+        nodes.put(directory, node);
+        List<Path> subdirectories = list(directory, node);
+        node.treeFiles = node.files;
+        node.treeDirs = subdirectories.size();
+        for (Path subdirectory : subdirectories) {
+            Node child = build(subdirectory, node);
+            if (child == null) {
+                node.unwatched.add(subdirectory);
+                node.unwatchedBelow++;
+            } else {
+                node.treeFiles += child.treeFiles;
+                node.treeDirs += child.treeDirs;
+                node.unwatchedBelow += child.unwatchedBelow;
+            }
+        }
+        return node;
+    }
+
+    private void rescan(Node node) throws IOException {
+        long previousFiles = node.files;
+        Set<Path> previousSubdirectories = new HashSet<>(node.subdirectories);
+        List<Path> subdirectories = list(node.directory, node);
+        propagate(node, node.files - previousFiles, 0, 0);
+
+        for (Path subdirectory : subdirectories) {
+            if (!previousSubdirectories.remove(subdirectory)) {
+                node.unwatched.add(subdirectory);
+                propagate(node, 0, 1, 1);
+                Node child = build(subdirectory, node);
+                if (child != null) {
+                    node.unwatched.remove(subdirectory);
+                    propagate(node, child.treeFiles, child.treeDirs, child.unwatchedBelow - 1);
+                }
+            }
+        }
+        for (Path removed : previousSubdirectories) {
+            if (node.unwatched.remove(removed)) {
+                propagate(node, 0, -1, -1);
+            } else {
+                Node child = nodes.get(removed);
+                if (child != null) {
+                    removeSubtree(child);
+                    propagate(node, -child.treeFiles, -child.treeDirs - 1, -child.unwatchedBelow);
+                }
+            }
+        }
+    }
+
+    private List<Path> list(Path directory, Node node) throws IOException {
+        List<Path> subdirectories = new ArrayList<>();
+        long directoryFiles = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                    subdirectories.add(entry);
+                } else if (Files.isRegularFile(entry)) {
+                    directoryFiles++;
+                }
+            }
+        }
+        node.files = directoryFiles;
+        node.subdirectories.clear();
+        node.subdirectories.addAll(subdirectories);
+        return subdirectories;
+    }
+
+    /**
+     * Builds unwatched directories of the tree of {@code root} while there is room and marks the tree as used.
+     * Returns how many directories became watched.
+     */
+    private int expand(Node root) throws IOException {
+        int expanded = 0;
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            node.used = epoch;
+            for (Path subdirectory : new ArrayList<>(node.unwatched)) {
+                Node child = build(subdirectory, node);
+                if (child == null) {
+                    break;
+                }
+                node.unwatched.remove(subdirectory);
+                propagate(node, child.treeFiles, child.treeDirs, child.unwatchedBelow - 1);
+                expanded++;
+            }
+            pushWatchedChildren(node, pending);
+        }
+        return expanded;
+    }
+
+    private long[] countWithUnwatched(Node root) throws IOException {
+        long files = root.treeFiles;
+        long dirs = root.treeDirs;
+        if (root.unwatchedBelow > 0) {
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                for (Path subdirectory : node.unwatched) {
+                    TreeStats stats = TreeStatsCollector.collect(subdirectory);
+                    files += stats.files();
+                    dirs += stats.dirs();
+                }
+                pushWatchedChildren(node, pending);
+            }
+        }
+        return new long[]{files, dirs};
+    }
+
+    private void pushWatchedChildren(Node node, Deque<Node> pending) {
+        for (Path subdirectory : node.subdirectories) {
+            if (!node.unwatched.contains(subdirectory)) {
+                Node child = nodes.get(subdirectory);
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evicts least recently used directories that were not used by the current query, leaves first, until an eighth
+     * of the limit is free again. An evicted directory becomes unwatched in its parent.
+     */
+    private void evictCold() {
+        if (nodes.size() < maxDirectories) {
+            return;
+        }
+        int target = maxDirectories - Math.max(1, maxDirectories / 8);
+        boolean evicted = true;
+        while (nodes.size() > target && evicted) {
+            evicted = false;
+            Iterator<Node> iterator = nodes.values().iterator();
+            while (nodes.size() > target && iterator.hasNext()) {
+                Node node = iterator.next();
+                if (node.used < epoch && node.unwatched.size() == node.subdirectories.size()) {
+                    iterator.remove();
+                    node.key.cancel();
+                    markUnwatched(node);
+                    evicted = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops watching {@code node} and its subtree, which becomes an unwatched directory of its parent.
+     */
+    private void unwatch(Node node) {
+        removeSubtree(node);
+        markUnwatched(node);
+    }
+
+    private static void markUnwatched(Node node) {
+        if (node.parent != null) {
+            node.parent.unwatched.add(node.directory);
+            propagate(node.parent, -node.treeFiles, -node.treeDirs, 1 - node.unwatchedBelow);
+        }
+    }
+
+    private void removeSubtree(Node root) {
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            pushWatchedChildren(node, pending);
+            nodes.remove(node.directory);
+            node.key.cancel();
+        }
+    }
+
+    private static void propagate(Node node, long files, long dirs, long unwatched) {
+        for (Node ancestor = node; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.treeFiles += files;
+            ancestor.treeDirs += dirs;
+            ancestor.unwatchedBelow += unwatched;
+        }
+    }
+
+    /**
+     * Returns the watch key of {@code directory}, or null if it cannot be watched. When watching fails for another
+     * reason than missing access, the watches of the user have run out, so the limit is lowered to the directories
+     * watched now.
+     */
+    private WatchKey tryRegister(Path directory) {
+        try {
+            return register(directory);
+        } catch (AccessDeniedException e) {
+            return null;
+        } catch (IOException e) {
+            maxDirectories = Math.max(1, nodes.size());
+            return null;
+        }
+    }
+
+    WatchKey register(Path directory) throws IOException {
+        return directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /**
+     * A watched directory. {@code treeFiles} and {@code treeDirs} count the watched subtree, including the direct
+     * subdirectories that are unwatched but not their content, and {@code unwatchedBelow} counts those unwatched
+     * subdirectories.
+     */
+    private static class Node {
+
+        private final Path directory;
+        private final Set<Path> subdirectories = new HashSet<>();
+        private final Set<Path> unwatched = new HashSet<>();
+        private WatchKey key;
+        private Node parent;
+        private long files;
+        private long treeFiles;
+        private long treeDirs;
+        private long unwatchedBelow;
+        private long used;
+
+        Node(Path directory, WatchKey key, Node parent) {
+            this.directory = directory;
+            this.key = key;
+            this.parent = parent;
+        }
+    }
+
+}
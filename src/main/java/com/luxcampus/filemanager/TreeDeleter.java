@@ -0,0 +1,106 @@
+package com.luxcampus.filemanager;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+class TreeDeleter {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final LongAdder entries = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final Queue<IOException> failures = new ConcurrentLinkedQueue<>();
+
+    static DeleteReport delete(Path path) {
+        return delete(path, ForkJoinPool.commonPool());
+    }
+
+    static DeleteReport delete(Path path, ForkJoinPool pool) {
+        TreeDeleter deleter = new TreeDeleter();
+        if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            pool.invoke(deleter.new DirectoryTask(path));
+        } else {
+            deleter.deleteEntry(path);
+        }
+        return new DeleteReport(deleter.entries.sum(), deleter.bytes.sum(), List.copyOf(deleter.failures));
+    }
+
+    private void deleteEntry(Path path) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            Files.delete(path);
+            entries.increment();
+            if (attrs.isRegularFile()) {
+                bytes.add(attrs.size());
+            }
+        } catch (IOException e) {
+            failures.add(e);
+        }
+    }
+
+    private class DirectoryTask extends RecursiveAction {
+
+        private final Path directory;
+
+        DirectoryTask(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute() {
+            List<ForkJoinTask<?>> subtasks = new ArrayList<>();
+            List<Path> batch = new ArrayList<>();
+
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                for (Path child : children) {
+                    if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                        subtasks.add(new DirectoryTask(child).fork());
+                    } else {
+                        batch.add(child);
+                        if (batch.size() == BATCH_SIZE) {
+                            subtasks.add(new BatchTask(batch).fork());
+                            batch = new ArrayList<>();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                failures.add(e);
+            }
+
+            new BatchTask(batch).compute();
+            for (ForkJoinTask<?> subtask : subtasks) {
+                subtask.join();
+            }
+            deleteEntry(directory);
+        }
+    }
+
+    private class BatchTask extends RecursiveAction {
+
+        private final List<Path> files;
+
+        BatchTask(List<Path> files) {
+            this.files = files;
+        }
+
+        @Override
+        protected void compute() {
+            for (Path file : files) {
+                deleteEntry(file);
+            }
+        }
+    }
+
+}
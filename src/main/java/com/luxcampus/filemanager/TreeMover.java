@@ -0,0 +1,107 @@
+package com.luxcampus.filemanager;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import static com.luxcampus.filemanager.FileManager.NO_ACCESS_TO_FILES_MESSAGE;
+
+class TreeMover {
+
+    /**
+     * Suffix of the uniquely named temporary files that copies are staged in, see
+     * {@link ParallelCopier#copyFile(Path, Path, long, Transfer)}.
+     */
+    static final String PARTIAL_SUFFIX = ".partial";
+
+    static void move(Path from, Path to) throws IOException {
+        move(from, to, new Transfer());
+    }
+
+    static void move(Path from, Path to, Transfer transfer) throws IOException {
+        transfer.checkCancelled();
+        if (Files.notExists(to)) {
+            Path parent = to.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try {
+                Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+                transfer.markAllDone();
+                return;
+            } catch (AtomicMoveNotSupportedException e) {
+                // source and destination are on different file systems
+            }
+        }
+        moveByCopying(from, to, transfer);
+    }
+
+    static void moveByCopying(Path from, Path to) throws IOException {
+        moveByCopying(from, to, new Transfer());
+    }
+
+    static void moveByCopying(Path from, Path to, Transfer transfer) throws IOException {
+        if (!Files.isDirectory(from)) {
+            moveFile(from, to, Files.size(from), transfer);
+            return;
+        }
+
+        Files.walkFileTree(from, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                transfer.checkCancelled();
+                Files.createDirectories(to.resolve(from.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                moveFile(file, to.resolve(from.relativize(file)), attrs.size(), transfer);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                throw new IllegalArgumentException(NO_ACCESS_TO_FILES_MESSAGE + file);
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (exc != null) {
+                    throw exc;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void moveFile(Path from, Path to, long size, Transfer transfer) throws IOException {
+        transfer.checkCancelled();
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            transfer.addBytes(size);
+            transfer.fileDone();
+            return;
+        } catch (AtomicMoveNotSupportedException e) {
+            // source and destination are on different file systems
+        }
+
+        copyAndDelete(from, to, size, transfer);
+    }
+
+    /**
+     * Moves a file across file systems. The copy is staged under a unique temporary name, so files next to the
+     * target are never overwritten, including ones that end with {@link #PARTIAL_SUFFIX}.
+     */
+    static void copyAndDelete(Path from, Path to, long size, Transfer transfer) throws IOException {
+        ParallelCopier.copyFile(from, to, size, transfer);
+        Files.delete(from);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.luxcampus.filemanager;
+
+import java.util.List;
+import java.util.Map;
+
+public record TreeStats(long files, long dirs, long totalBytes, List<FileSize> largestFiles,
+                        Map<String, ExtensionStats> extensions) {
+
+    public record FileSize(String path, long size) {
+    }
+
+    public record ExtensionStats(long files, long bytes) {
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.luxcampus.filemanager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static com.luxcampus.filemanager.FileManager.NO_ACCESS_TO_FILES_MESSAGE;
+
+class TreeStatsCollector {
+
+    static final int LARGEST_FILES_LIMIT = 10;
+    private static final Comparator<TreeStats.FileSize> BY_SIZE =
+            Comparator.comparingLong(TreeStats.FileSize::size).thenComparing(TreeStats.FileSize::path);
+
+    private final PriorityQueue<TreeStats.FileSize> largestFiles = new PriorityQueue<>(BY_SIZE);
+    private final Map<String, long[]> extensions = new HashMap<>();
+    private long files;
+    private long dirs;
+    private long totalBytes;
+
+    static TreeStats collect(Path root) throws IOException {
+        return collect(root, Set.of());
+    }
+
+    /**
+     * Collects the stats of the tree with linked directories walked like the directories they link to, as
+     * {@link FileManager#countFiles(String)} and {@link FileManager#countDirs(String)} always counted. A link to a
+     * directory that contains it is counted as a directory but not entered again.
+     */
+    static TreeStats collectFollowingLinks(Path root) throws IOException {
+        return collect(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS));
+    }
+
+    private static TreeStats collect(Path root, Set<FileVisitOption> options) throws IOException {
+        TreeStatsCollector collector = new TreeStatsCollector();
+        Files.walkFileTree(root, options, Integer.MAX_VALUE, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(root)) {
+                    collector.dirs++;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                collector.visit(file, attrs);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                if (exc instanceof FileSystemLoopException) {
+                    collector.dirs++;
+                    return FileVisitResult.CONTINUE;
+                }
+                throw new IllegalArgumentException(NO_ACCESS_TO_FILES_MESSAGE + file);
+            }
+        });
+        return collector.toStats();
+    }
+
+    static TreeStats collectParallel(Path root) throws IOException {
+        try {
+            return ForkJoinPool.commonPool().invoke(new DirectoryTask(root)).toStats();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void visit(Path file, BasicFileAttributes attrs) throws IOException {
+        if (attrs.isRegularFile()) {
+            addFile(file, attrs.size());
+        } else if (attrs.isSymbolicLink() && Files.isRegularFile(file)) {
+            addFile(file, Files.size(file));
+        }
+    }
+
+    private void addFile(Path file, long size) {
+        files++;
+        totalBytes += size;
+        addLargestFile(new TreeStats.FileSize(file.toString(), size));
+
+        long[] extension = extensions.computeIfAbsent(getExtension(file), key -> new long[2]);
+        extension[0]++;
+        extension[1] += size;
+    }
+
+    private void addLargestFile(TreeStats.FileSize fileSize) {
+        if (largestFiles.size() < LARGEST_FILES_LIMIT) {
+            largestFiles.add(fileSize);
+        } else if (BY_SIZE.compare(fileSize, largestFiles.peek()) > 0) {
+            largestFiles.poll();
+            largestFiles.add(fileSize);
+        }
+    }
+
+    private TreeStatsCollector merge(TreeStatsCollector other) {
+        files += other.files;
+        dirs += other.dirs;
+        totalBytes += other.totalBytes;
+        for (TreeStats.FileSize fileSize : other.largestFiles) {
+            addLargestFile(fileSize);
+        }
+        other.extensions.forEach((name, stats) -> {
+            long[] extension = extensions.computeIfAbsent(name, key -> new long[2]);
+            extension[0] += stats[0];
+            extension[1] += stats[1];
+        });
+        return this;
+    }
+
+    private TreeStats toStats() {
+        List<TreeStats.FileSize> largest = new ArrayList<>(largestFiles);
+        largest.sort(BY_SIZE.reversed());
+
+        Map<String, TreeStats.ExtensionStats> extensionStats = new TreeMap<>();
+        extensions.forEach((name, stats) -> extensionStats.put(name, new TreeStats.ExtensionStats(stats[0], stats[1])));
+
+        return new TreeStats(files, dirs, totalBytes, List.copyOf(largest), extensionStats);
+    }
+
+    private static String getExtension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot <= 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static class DirectoryTask extends RecursiveTask<TreeStatsCollector> {
+
+        private final Path directory;
+
+        DirectoryTask(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected TreeStatsCollector compute() {
+            TreeStatsCollector collector = new TreeStatsCollector();
+            List<DirectoryTask> subtasks = new ArrayList<>();
+
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attrs =
+                            Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attrs.isDirectory()) {
+                        collector.dirs++;
+                        DirectoryTask subtask = new DirectoryTask(entry);
+                        subtask.fork();
+                        subtasks.add(subtask);
+                    } else {
+                        collector.visit(entry, attrs);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            for (DirectoryTask subtask : subtasks) {
+                collector.merge(subtask.join());
+            }
+            return collector;
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.luxcampus.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Phase timings, byte counts, allocations and errors of searches and file operations.
+ * <p>
+ * Recording is off by default and costs a volatile read per call site then. It is switched on with
+ * {@code -Dluxcampus.metrics=true} or {@link #setEnabled(boolean)}, which also registers one MXBean per phase under
+ * {@code com.luxcampus:type=Metrics}. With {@code -Dluxcampus.metrics.jfr=true} every span is emitted as a JFR event
+ * as well, so a flight recording shows the phases next to the JVM events.
+ */
+public final class Metrics {
+
+    static final String DOMAIN = "com.luxcampus";
+    private static final boolean JFR = Boolean.getBoolean("luxcampus.metrics.jfr");
+    private static final Map<Phase, PhaseStats> STATS = new EnumMap<>(Phase.class);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static volatile boolean enabled;
+
+    static {
+        for (Phase phase : Phase.values()) {
+            STATS.put(phase, new PhaseStats());
+        }
+        if (Boolean.getBoolean("luxcampus.metrics")) {
+            setEnabled(true);
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static synchronized void setEnabled(boolean enabled) {
+        if (enabled) {
+            register();
+        }
+        Metrics.enabled = enabled;
+    }
+
+    public static PhaseStatsMXBean stats(Phase phase) {
+        return STATS.get(phase);
+    }
+
+    public static void reset() {
+        STATS.values().forEach(PhaseStats::reset);
+    }
+
+    /**
+     * Returns the start time of a hot-path measurement, or 0 when recording is off.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a hot-path measurement started with {@link #start()}; it does not allocate.
+     */
+    public static void record(Phase phase, long start, long bytes) {
+        if (start != 0) {
+            STATS.get(phase).record(System.nanoTime() - start, bytes);
+        }
+    }
+
+    public static void error(Phase phase) {
+        if (enabled) {
+            STATS.get(phase).recordError();
+        }
+    }
+
+    /**
+     * Opens a span around a whole operation. Spans also record the bytes allocated by the calling thread and are
+     * the unit of JFR events. A disabled span is a shared no-op instance.
+     */
+    public static Span span(Phase phase) {
+        return enabled ? new Span(phase) : Span.NOOP;
+    }
+
+    private static void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (Map.Entry<Phase, PhaseStats> entry : STATS.entrySet()) {
+                ObjectName name = new ObjectName(DOMAIN + ":type=Metrics,phase=" + entry.getKey());
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(entry.getValue(), name);
+                }
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * Measures one operation. Call {@link #succeeded()} at the end of the try block; a span closed without it counts
+     * as an error, so failures need no extra catch blocks.
+     */
+    public static final class Span implements AutoCloseable {
+
+        private static final Span NOOP = new Span(null);
+
+        private final Phase phase;
+        private final long start;
+        private final long allocatedAtStart;
+        private final PhaseEvent event;
+        private long bytes;
+        private boolean succeeded;
+
+        private Span(Phase phase) {
+            this.phase = phase;
+            this.start = phase == null ? 0 : System.nanoTime();
+            this.allocatedAtStart = phase == null ? 0 : allocatedBytes();
+            this.event = phase != null && JFR ? new PhaseEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+        }
+
+        public void addBytes(long bytes) {
+            this.bytes += bytes;
+        }
+
+        public void succeeded() {
+            succeeded = true;
+        }
+
+        @Override
+        public void close() {
+            if (phase == null) {
+                return;
+            }
+            long allocated = allocatedBytes() - allocatedAtStart;
+            PhaseStats stats = STATS.get(phase);
+            stats.record(System.nanoTime() - start, bytes);
+            stats.recordAllocation(allocated);
+            if (!succeeded) {
+                stats.recordError();
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.phase = phase.name();
+                    event.bytes = bytes;
+                    event.allocatedBytes = allocated;
+                    event.failed = !succeeded;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+}
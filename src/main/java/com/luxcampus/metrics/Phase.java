@@ -0,0 +1,16 @@
+package com.luxcampus.metrics;
+
+public enum Phase {
+
+    SEARCH,
+    SEARCH_READ,
+    SEARCH_SCAN,
+    SEARCH_SPLIT,
+    SEARCH_MATCH,
+    COPY,
+    COPY_LIST,
+    COPY_FILE,
+    MOVE,
+    DELETE
+
+}
@@ -0,0 +1,28 @@
+package com.luxcampus.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.luxcampus.Phase")
+@Label("Phase")
+@Category("Lux Campus")
+class PhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+
+    @Label("Failed")
+    boolean failed;
+
+}
@@ -0,0 +1,79 @@
+package com.luxcampus.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+class PhaseStats implements PhaseStatsMXBean {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile long since = System.nanoTime();
+
+    void record(long elapsedNanos, long recordedBytes) {
+        count.increment();
+        nanos.add(elapsedNanos);
+        bytes.add(recordedBytes);
+    }
+
+    void recordAllocation(long recordedBytes) {
+        allocatedBytes.add(recordedBytes);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return nanos.sum();
+    }
+
+    @Override
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getOperationsPerSecond() {
+        return perSecond(getCount());
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return perSecond(getBytes());
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+        nanos.reset();
+        bytes.reset();
+        allocatedBytes.reset();
+        errors.reset();
+        since = System.nanoTime();
+    }
+
+    private double perSecond(long value) {
+        long elapsed = System.nanoTime() - since;
+        return elapsed <= 0 ? 0 : value * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.luxcampus.metrics;
+
+public interface PhaseStatsMXBean {
+
+    long getCount();
+
+    long getTotalNanos();
+
+    long getBytes();
+
+    long getAllocatedBytes();
+
+    long getErrors();
+
+    double getOperationsPerSecond();
+
+    double getBytesPerSecond();
+
+    void reset();
+
+}
@@ -0,0 +1,119 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("AnalyzerServer tests")
+class AnalyzerServerTest {
+
+    @TempDir
+    Path directory;
+
+    private AnalyzerServer server;
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new AnalyzerServer(0, new ResultCache());
+        path = Files.writeString(directory.resolve("text.txt"), "Hello world. Nothing here! Big world?");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Test search over HTTP prints the same text as the command line")
+    void testHttpSearch() throws IOException, InterruptedException {
+        HttpResponse<String> response = get("path=" + encode(path.toString()) + "&word=world&max-sentences=1");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(String.join(System.lineSeparator(), "Passed keyword [world] occurred 2 times.", "Sentences:",
+                "Hello world.", "(only 1 sentences shown)", ""), response.body());
+    }
+
+    @Test
+    @DisplayName("Test bad request is reported with status 400")
+    void testBadRequest() throws IOException, InterruptedException {
+        HttpResponse<String> response = get("path=" + encode(directory.toString()) + "&word=world");
+
+        assertEquals(400, response.statusCode());
+        assertEquals(FileAnalyzer.INCORRECT_ARGUMENT_MESSAGE, response.body());
+    }
+
+    @Test
+    @DisplayName("Test repeated search is answered from the cache until the file changes")
+    void testCache() throws IOException {
+        Result first = server.search(path.toString(), "world", SearchOptions.DEFAULT);
+        Result second = server.search(path.toString(), "world", SearchOptions.DEFAULT);
+
+        assertSame(first, second);
+
+        Files.writeString(path, "Another world.");
+        File file = path.toFile();
+        file.setLastModified(file.lastModified() + 2000);
+        Result changed = server.search(path.toString(), "world", SearchOptions.DEFAULT);
+
+        assertNotSame(first, changed);
+        assertEquals(new Result(1, List.of("Another world.")), changed);
+    }
+
+    @Test
+    @DisplayName("Test cache evicts the least recently used results beyond its size")
+    void testEviction() throws IOException {
+        ResultCache cache = new ResultCache(200);
+        File file = path.toFile();
+
+        cache.put(ResultCache.Key.of(file, "a", SearchOptions.DEFAULT), new Result(1, List.of("x".repeat(100))));
+        cache.put(ResultCache.Key.of(file, "b", SearchOptions.DEFAULT), new Result(1, List.of("y".repeat(100))));
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(ResultCache.Key.of(file, "a", SearchOptions.DEFAULT)));
+    }
+
+    @Test
+    @DisplayName("Test a result is cached under the file state taken before the search")
+    void testFileChangedDuringSearch() throws IOException {
+        ResultCache cache = new ResultCache();
+        File file = path.toFile();
+        ResultCache.Key key = ResultCache.Key.of(file, "a", SearchOptions.DEFAULT);
+
+        Files.writeString(path, "Changed while searching.", StandardOpenOption.APPEND);
+        cache.put(key, new Result(1, List.of("stale")));
+
+        assertNull(cache.get(ResultCache.Key.of(file, "a", SearchOptions.DEFAULT)));
+    }
+
+    private HttpResponse<String> get(String query) throws IOException, InterruptedException {
+        URI uri = URI.create("http://127.0.0.1:" + server.port() + AnalyzerServer.SEARCH_PATH + "?" + query);
+        return HttpClient.newHttpClient().send(HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+}
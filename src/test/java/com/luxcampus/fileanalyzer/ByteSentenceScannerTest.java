@@ -0,0 +1,89 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DisplayName("ByteSentenceScanner unit tests")
+class ByteSentenceScannerTest {
+
+    private static final String CONTENT = "This file will not have matching searched word result count. "
+            + "The word that we repeat is actually 'word'. No mention here? word word word! words, sword. "
+            + "Caf\u00e9 word\u2014word na\u00efve_word word\u00e9. Empty sentence ^_^ word";
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 64, 1024})
+    @DisplayName("Test scanning blocks of any size gives the same result as the String based search")
+    void testScanMatchesStringSearch(int blockSize) {
+        List<String> expectedSentences = FileAnalyzer.getSearchedSentences(FileAnalyzer.breakIntoSentences(CONTENT), "word");
+        int expectedCount = FileAnalyzer.getWordOccurrences(expectedSentences, "word");
+        List<String> sentences = new ArrayList<>();
+
+        int count = scan(CONTENT, "word", blockSize, sentences, new ArrayList<>());
+
+        assertEquals(expectedSentences, sentences);
+        assertEquals(expectedCount, count);
+    }
+
+    @Test
+    @DisplayName("Test reported offsets point to the sentences in the input")
+    void testOffsets() {
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+        List<String> sentences = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+
+        scan(CONTENT, "word", 5, sentences, offsets);
+
+        assertFalse(sentences.isEmpty());
+        for (int i = 0; i < sentences.size(); i++) {
+            int offset = offsets.get(i).intValue();
+            int length = sentences.get(i).getBytes(StandardCharsets.UTF_8).length;
+            assertEquals(sentences.get(i), new String(bytes, offset, length, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Test keyword that ends with a separator")
+    void testKeywordWithSeparator() {
+        List<String> sentences = new ArrayList<>();
+
+        int count = scan("The end. Not the end yet", "end.", 4, sentences, new ArrayList<>());
+
+        assertEquals(List.of("The end."), sentences);
+        assertEquals(1, count);
+    }
+
+    @Test
+    @DisplayName("Test word boundaries are only required at word characters of the keyword")
+    void testKeywordWithNonWordEnds() {
+        List<String> sentences = new ArrayList<>();
+
+        int count = scan("I like C++ a lot. Not ObjC++ though. Or C+++", "C++", 4, sentences, new ArrayList<>());
+
+        assertEquals(List.of("I like C++ a lot.", "Not ObjC++ though.", "Or C+++"), sentences);
+        assertEquals(2, count);
+    }
+
+    private static int scan(String content, String word, int blockSize, List<String> sentences, List<Long> offsets) {
+        ByteSentenceScanner scanner = new ByteSentenceScanner(word, StandardCharsets.UTF_8, (buffer, start, end, offset) -> {
+            sentences.add(ByteSentenceScanner.decode(buffer, start, end, StandardCharsets.UTF_8));
+            offsets.add(offset);
+        });
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i += blockSize) {
+            scanner.feed(ByteBuffer.wrap(bytes, i, Math.min(blockSize, bytes.length - i)));
+        }
+        scanner.finish();
+        return scanner.count();
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Charsets tests")
+class CharsetsTest {
+
+    private static final String CONTENT = "Un caf\u00e9 cr\u00e8me. Deux caf\u00e9s! Le caf\u00e9 est pr\u00eat?";
+    private static final List<String> EXPECTED_SENTENCES = List.of("Un caf\u00e9 cr\u00e8me.", "Deux caf\u00e9s!",
+            "Le caf\u00e9 est pr\u00eat?");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test UTF-8 is used when there is no byte order mark")
+    void testUtf8WithoutBom() throws IOException {
+        Path path = write("utf8.txt", new byte[0], StandardCharsets.UTF_8);
+
+        Result result = search(path, SearchOptions.DEFAULT);
+
+        assertEquals(StandardCharsets.UTF_8, Charsets.detect(path.toFile()));
+        assertEquals(new Result(2, EXPECTED_SENTENCES), result);
+    }
+
+    @Test
+    @DisplayName("Test UTF-8 byte order mark is skipped")
+    void testUtf8WithBom() throws IOException {
+        Path path = write("utf8-bom.txt", new byte[]{(byte) 0xef, (byte) 0xbb, (byte) 0xbf}, StandardCharsets.UTF_8);
+
+        Result result = search(path, SearchOptions.DEFAULT);
+
+        assertEquals(new Result(2, EXPECTED_SENTENCES), result);
+    }
+
+    @Test
+    @DisplayName("Test UTF-16 is detected from the byte order mark")
+    void testUtf16WithBom() throws IOException {
+        Path littleEndian = write("utf16le.txt", new byte[]{(byte) 0xff, (byte) 0xfe}, StandardCharsets.UTF_16LE);
+        Path bigEndian = write("utf16be.txt", new byte[]{(byte) 0xfe, (byte) 0xff}, StandardCharsets.UTF_16BE);
+
+        assertEquals(StandardCharsets.UTF_16LE, Charsets.detect(littleEndian.toFile()));
+        assertEquals(StandardCharsets.UTF_16BE, Charsets.detect(bigEndian.toFile()));
+        assertEquals(new Result(2, EXPECTED_SENTENCES), search(littleEndian, SearchOptions.DEFAULT));
+        assertEquals(new Result(2, EXPECTED_SENTENCES), search(bigEndian, SearchOptions.DEFAULT));
+    }
+
+    @Test
+    @DisplayName("Test explicitly selected ISO-8859-1 charset")
+    void testExplicitLatin1() throws IOException {
+        Path path = write("latin1.txt", new byte[0], StandardCharsets.ISO_8859_1);
+
+        Result result = search(path, SearchOptions.DEFAULT.with("--charset=ISO-8859-1"));
+
+        assertEquals(new Result(2, EXPECTED_SENTENCES), result);
+    }
+
+    private Path write(String name, byte[] bom, Charset charset) throws IOException {
+        Path path = directory.resolve(name);
+        byte[] content = CONTENT.getBytes(charset);
+        byte[] bytes = new byte[bom.length + content.length];
+        System.arraycopy(bom, 0, bytes, 0, bom.length);
+        System.arraycopy(content, 0, bytes, bom.length, content.length);
+        return Files.write(path, bytes);
+    }
+
+    private static Result search(Path path, SearchOptions options) throws IOException {
+        return FileAnalyzer.search(new String[]{path.toString(), "caf\u00e9"}, options);
+    }
+
+}
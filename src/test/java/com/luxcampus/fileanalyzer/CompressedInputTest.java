@@ -0,0 +1,92 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Compressed input tests")
+class CompressedInputTest {
+
+    private static final String FIRST_CONTENT = "Hello world. Nothing here! The world is big, world?";
+    private static final String SECOND_CONTENT = "Brave new world. Unrelated";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test compression is detected from magic bytes")
+    void testDetect() throws IOException {
+        Path plain = Files.writeString(directory.resolve("plain.gz"), FIRST_CONTENT);
+
+        assertEquals(CompressedInput.Compression.NONE, CompressedInput.detect(plain.toFile()));
+        assertEquals(CompressedInput.Compression.GZIP, CompressedInput.detect(writeGzip("text").toFile()));
+        assertEquals(CompressedInput.Compression.ZIP, CompressedInput.detect(writeZip("text.zip").toFile()));
+    }
+
+    @Test
+    @DisplayName("Test gzip input is searched like plain text")
+    void testGzip() throws IOException {
+        Path path = writeGzip("text.txt.gz");
+
+        Result result = FileAnalyzer.search(new String[]{path.toString(), "world"}, SearchOptions.DEFAULT);
+
+        assertEquals(new Result(3, List.of("Hello world.", "The world is big, world?")), result);
+    }
+
+    @Test
+    @DisplayName("Test every zip entry gets its own result")
+    void testZipEntries() throws IOException {
+        Path path = writeZip("texts.zip");
+
+        Map<String, Result> results = FileAnalyzer.findInEntries("world", path.toFile(), SearchOptions.DEFAULT);
+
+        assertEquals(Map.of(
+                "first.txt", new Result(3, List.of("Hello world.", "The world is big, world?")),
+                "nested/second.txt", new Result(1, List.of("Brave new world."))), results);
+        assertEquals(List.of("first.txt", "nested/second.txt"), List.copyOf(results.keySet()));
+    }
+
+    @Test
+    @DisplayName("Test zip search returns the total of all entries")
+    void testZipTotal() throws IOException {
+        Path path = writeZip("texts.zip");
+
+        Result result = FileAnalyzer.search(new String[]{path.toString(), "world"}, SearchOptions.DEFAULT);
+
+        assertEquals(new Result(4, List.of("Hello world.", "The world is big, world?", "Brave new world.")), result);
+    }
+
+    private Path writeGzip(String name) throws IOException {
+        Path path = directory.resolve(name);
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(path))) {
+            outputStream.write(FIRST_CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+        return path;
+    }
+
+    private Path writeZip(String name) throws IOException {
+        Path path = directory.resolve(name);
+        try (ZipOutputStream outputStream = new ZipOutputStream(Files.newOutputStream(path))) {
+            outputStream.putNextEntry(new ZipEntry("first.txt"));
+            outputStream.write(FIRST_CONTENT.getBytes(StandardCharsets.UTF_8));
+            outputStream.putNextEntry(new ZipEntry("nested/"));
+            outputStream.putNextEntry(new ZipEntry("nested/second.txt"));
+            outputStream.write(SECOND_CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+        return path;
+    }
+
+}
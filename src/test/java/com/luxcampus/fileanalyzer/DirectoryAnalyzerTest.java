@@ -0,0 +1,71 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DirectoryAnalyzer tests")
+class DirectoryAnalyzerTest {
+
+    final static String RESOURCES = "src/test/resources";
+
+    @Test
+    @DisplayName("Test per file results match single file search and add up to the total")
+    void testPerFileResultsAndTotal() throws IOException {
+        DirectoryResult result = DirectoryAnalyzer.find("word", RESOURCES, List.of("test*.txt"), List.of(), SearchOptions.DEFAULT, 3);
+
+        assertEquals(6, result.files().size());
+        int totalCount = 0;
+        for (Map.Entry<String, Result> entry : result.files().entrySet()) {
+            String path = RESOURCES + "/" + entry.getKey();
+            assertEquals(FileAnalyzer.search(new String[]{path, "word"}), entry.getValue());
+            totalCount += entry.getValue().count();
+        }
+        assertEquals(totalCount, result.total().count());
+    }
+
+    @Test
+    @DisplayName("Test binary files are skipped")
+    void testBinaryFilesAreSkipped() throws IOException {
+        DirectoryResult result = DirectoryAnalyzer.find("word", RESOURCES, List.of(), List.of(), SearchOptions.DEFAULT);
+
+        assertTrue(DirectoryAnalyzer.isBinary(new File(RESOURCES + "/img.png"), SearchOptions.DEFAULT));
+        assertFalse(result.files().containsKey("img.png"));
+        assertTrue(result.files().containsKey("test6.txt"));
+    }
+
+    @Test
+    @DisplayName("Test exclude filters are applied to nested files")
+    void testExcludeFilter() throws IOException {
+        DirectoryResult result = DirectoryAnalyzer.find("word", RESOURCES, List.of(), List.of("folder*/**", "*.png"), SearchOptions.DEFAULT);
+
+        for (String path : result.files().keySet()) {
+            assertFalse(path.startsWith("folder"), path);
+        }
+    }
+
+    @Test
+    @DisplayName("Test UTF-16 files with a byte order mark are searched and not skipped as binary")
+    void testUtf16FilesAreSearched(@TempDir Path directory) throws IOException {
+        File file = directory.resolve("utf16.txt").toFile();
+        Files.writeString(file.toPath(), "\ufeffOne word here. Another word there.", StandardCharsets.UTF_16LE);
+
+        assertFalse(DirectoryAnalyzer.isBinary(file, SearchOptions.DEFAULT));
+        DirectoryResult result = DirectoryAnalyzer.find("word", directory.toString(), List.of(), List.of(), SearchOptions.DEFAULT);
+
+        assertEquals(2, result.files().get("utf16.txt").count());
+    }
+
+}
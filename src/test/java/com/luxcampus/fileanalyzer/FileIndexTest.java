@@ -0,0 +1,87 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("FileIndex tests")
+class FileIndexTest {
+
+    final static String RESOURCES = "src/test/resources";
+
+    @TempDir
+    Path indexDirectory;
+
+    @ParameterizedTest
+    @CsvSource({"test1.txt, tree", "test1.txt, Tree", "test1.txt, see", "test2.txt, Hello", "test3.txt, sentence",
+            "test4.txt, word", "test5.txt, without", "test6.txt, word", "test6.txt, absent"})
+    @DisplayName("Test indexed search returns the same result as a full scan")
+    void testIndexedSearchMatchesFullScan(String fileName, String word) throws IOException {
+        File file = new File(RESOURCES + "/" + fileName);
+        Result expectedResult = FileAnalyzer.search(new String[]{file.getPath(), word});
+
+        Result firstResult = FileIndex.search(file, word, SearchOptions.DEFAULT, indexDirectory);
+        Result secondResult = FileIndex.search(file, word, SearchOptions.DEFAULT, indexDirectory);
+
+        assertEquals(expectedResult, firstResult);
+        assertEquals(expectedResult, secondResult);
+        assertTrue(Files.exists(FileIndex.getIndexPath(file, indexDirectory)));
+    }
+
+    @Test
+    @DisplayName("Test index is rebuilt when the file changes")
+    void testIndexIsRebuiltWhenFileChanges() throws IOException {
+        Path path = indexDirectory.resolve("changing.txt");
+        Files.writeString(path, "One word here. Nothing else.");
+        File file = path.toFile();
+        Result firstResult = FileIndex.search(file, "word", SearchOptions.DEFAULT, indexDirectory);
+
+        Files.writeString(path, "One word here. And another word there! Nothing else.");
+        file.setLastModified(file.lastModified() + 2000);
+        Result secondResult = FileIndex.search(file, "word", SearchOptions.DEFAULT, indexDirectory);
+
+        assertEquals(1, firstResult.count());
+        assertNotEquals(firstResult, secondResult);
+        assertEquals(FileAnalyzer.search(new String[]{file.getPath(), "word"}), secondResult);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"test1.txt, tree", "test3.txt, sentence", "test4.txt, word", "test6.txt, word"})
+    @DisplayName("Test an index mapped in small segments returns the same result")
+    void testSegmentedIndex(String fileName, String word) throws IOException {
+        File file = new File(RESOURCES + "/" + fileName);
+        Result expectedResult = FileAnalyzer.search(new String[]{file.getPath(), word});
+
+        FileIndex index = FileIndex.open(file, StandardCharsets.UTF_8, indexDirectory, 16);
+
+        assertEquals(expectedResult, index.find(word));
+    }
+
+    @Test
+    @DisplayName("Test an index built for another path is not used")
+    void testIndexOfAnotherPath() throws IOException {
+        File first = Files.writeString(indexDirectory.resolve("first.txt"), "One word here.").toFile();
+        File second = Files.writeString(indexDirectory.resolve("second.txt"), "Two birds here.").toFile();
+        second.setLastModified(first.lastModified());
+        FileIndex.search(first, "word", SearchOptions.DEFAULT, indexDirectory);
+
+        Files.copy(FileIndex.getIndexPath(first, indexDirectory), FileIndex.getIndexPath(second, indexDirectory));
+        Result result = FileIndex.search(second, "word", SearchOptions.DEFAULT, indexDirectory);
+
+        assertEquals(new Result(0, List.of()), result);
+    }
+
+}
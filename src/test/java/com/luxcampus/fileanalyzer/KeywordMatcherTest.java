@@ -0,0 +1,175 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("KeywordMatcher tests")
+class KeywordMatcherTest {
+
+    private static final String CONTENT = "I like C++ a lot. Words words. Wordsmith! The word, the WORD?";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test exact mode keeps the legacy semantics")
+    void testExact() {
+        KeywordMatcher matcher = KeywordMatcher.compile("word", SearchMode.EXACT);
+
+        assertEquals(1, matcher.match("A word and a password."));
+        assertEquals(0, matcher.match("Passwords only."));
+        assertEquals(-1, matcher.match("Nothing here."));
+    }
+
+    @Test
+    @DisplayName("Test regex metacharacters are matched literally outside of regex mode")
+    void testLiteralMetacharacters() {
+        assertEquals(1, KeywordMatcher.compile("a.b", SearchMode.EXACT).match("Take a.b now"));
+        assertEquals(-1, KeywordMatcher.compile("a.b", SearchMode.EXACT).match("Take axb now"));
+        assertEquals(1, KeywordMatcher.compile("C++", SearchMode.EXACT).match("I like C++ a lot."));
+        assertEquals(0, KeywordMatcher.compile("C++", SearchMode.EXACT).match("I like ObjC++ a lot."));
+        assertEquals(1, KeywordMatcher.compile("++", SearchMode.EXACT).match("I like C++ a lot."));
+        assertEquals(1, FileAnalyzer.getWordOccurrences(List.of("Take a.b now"), "a.b"));
+    }
+
+    @Test
+    @DisplayName("Test case-insensitive mode")
+    void testCaseInsensitive() {
+        KeywordMatcher matcher = KeywordMatcher.compile("stra\u00dfe", SearchMode.CASE_INSENSITIVE);
+
+        assertEquals(2, matcher.match("STRA\u00dfE and Stra\u00dfe"));
+        assertEquals(1, KeywordMatcher.compile("\u00e9t\u00e9", SearchMode.CASE_INSENSITIVE).match("L'\u00c9T\u00c9."));
+    }
+
+    @Test
+    @DisplayName("Test whole-word mode skips sentences with partial matches only")
+    void testWholeWord() throws IOException {
+        Path path = Files.writeString(directory.resolve("text.txt"), CONTENT);
+
+        Result result = FileAnalyzer.search(new String[]{path.toString(), "word"},
+                SearchOptions.DEFAULT.withMode(SearchMode.WHOLE_WORD));
+
+        assertEquals(new Result(1, List.of("The word, the WORD?")), result);
+    }
+
+    @Test
+    @DisplayName("Test case-insensitive search in a file")
+    void testCaseInsensitiveFile() throws IOException {
+        Path path = Files.writeString(directory.resolve("text.txt"), CONTENT);
+
+        Result result = FileAnalyzer.search(new String[]{path.toString(), "word"},
+                SearchOptions.DEFAULT.with("--mode=case-insensitive"));
+
+        assertEquals(new Result(2, List.of("Words words.", "Wordsmith!", "The word, the WORD?")), result);
+    }
+
+    @Test
+    @DisplayName("Test regex mode counts every match")
+    void testRegex() throws IOException {
+        Path path = Files.writeString(directory.resolve("text.txt"), CONTENT);
+
+        Result result = FileAnalyzer.search(new String[]{path.toString(), "[Ww]ords?\\b"},
+                SearchOptions.DEFAULT.withMode(SearchMode.REGEX));
+
+        assertEquals(new Result(3, List.of("Words words.", "The word, the WORD?")), result);
+    }
+
+    @Test
+    @DisplayName("Test keyword search honours the search mode")
+    void testKeywords() throws IOException {
+        Path path = Files.writeString(directory.resolve("text.txt"), CONTENT);
+
+        Map<String, Result> results = MultiKeywordAnalyzer.find(List.of("word", "c++"), path.toFile(),
+                SearchOptions.DEFAULT.withMode(SearchMode.CASE_INSENSITIVE));
+
+        assertEquals(new Result(2, List.of("Words words.", "Wordsmith!", "The word, the WORD?")), results.get("word"));
+        assertEquals(new Result(1, List.of("I like C++ a lot.")), results.get("c++"));
+    }
+
+    @Test
+    @DisplayName("Test fuzzy distances agree with the dynamic programming edit distance")
+    void testFuzzyDistance() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            String keyword = randomWord(random, 1 + random.nextInt(64));
+            String word = randomWord(random, random.nextInt(70));
+            KeywordMatcher.FuzzyMatcher matcher = new KeywordMatcher.FuzzyMatcher(keyword, 1, null);
+
+            assertEquals(editDistance(keyword, word), matcher.distance(word, 0, word.length()), keyword + " " + word);
+        }
+    }
+
+    @Test
+    @DisplayName("Test fuzzy mode counts words within the edit limit")
+    void testFuzzy() {
+        Map<String, Integer> hits = new LinkedHashMap<>();
+        KeywordMatcher matcher = KeywordMatcher.compile("colour", SearchOptions.DEFAULT.withMode(SearchMode.FUZZY),
+                hits::put);
+
+        assertEquals(2, matcher.match("Color, colours and the colour of coal."));
+        assertEquals(-1, matcher.match("Cooler collars."));
+        assertEquals(Map.of("colours", 1, "colour", 0), hits);
+    }
+
+    @Test
+    @DisplayName("Test fuzzy search in a file reports edit distances")
+    void testFuzzyFile() throws IOException {
+        Path path = Files.writeString(directory.resolve("text.txt"), "recieve it. Receive it! Nothing here. Deceive?");
+
+        Result result = FileAnalyzer.search(new String[]{path.toString(), "receive"},
+                SearchOptions.DEFAULT.with("--mode=fuzzy").with("--max-edits=2"));
+
+        assertEquals(new Result(3, List.of("recieve it.", "Receive it!", "Deceive?"), false,
+                Map.of("recieve", 2, "Receive", 1, "Deceive", 1)), result);
+    }
+
+    @Test
+    @DisplayName("Test fuzzy keywords are validated")
+    void testFuzzyValidation() {
+        SearchOptions options = SearchOptions.DEFAULT.withMode(SearchMode.FUZZY);
+
+        assertThrows(IllegalArgumentException.class, () -> KeywordMatcher.compile("x".repeat(65), options, null));
+        assertThrows(IllegalArgumentException.class, () -> KeywordMatcher.compile("", options, null));
+        assertThrows(IllegalArgumentException.class, () -> options.with("--max-edits=-1"));
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(4)));
+        }
+        return builder.toString();
+    }
+
+    private static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+}
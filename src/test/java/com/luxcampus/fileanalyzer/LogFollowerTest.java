@@ -0,0 +1,129 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("LogFollower tests")
+class LogFollowerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test appended text is searched incrementally with the partial sentence carried over")
+    void testAppend() throws IOException {
+        Path path = Files.writeString(directory.resolve("app.log"), "Error one. Error tw");
+        List<String> seen = new ArrayList<>();
+        LogFollower follower = new LogFollower("Error", path, SearchOptions.DEFAULT, seen::add);
+
+        assertTrue(follower.poll());
+        assertEquals(List.of("Error one."), seen);
+        assertFalse(follower.poll());
+
+        append(path, "o. Fine. Error three!");
+        assertTrue(follower.poll());
+        assertEquals(3, follower.result().count());
+        assertEquals(List.of("Error one.", "Error two.", "Error three!"), seen);
+        assertEquals(Files.size(path), follower.offset());
+    }
+
+    @Test
+    @DisplayName("Test sentences passed to a consumer are not kept")
+    void testConsumedSentencesAreNotKept() throws IOException {
+        Path path = Files.writeString(directory.resolve("app.log"), "Error one. Fine. ");
+        List<String> seen = new ArrayList<>();
+        LogFollower follower = new LogFollower("Error", path, SearchOptions.DEFAULT, seen::add);
+        LogFollower collecting = new LogFollower("Error", path, SearchOptions.DEFAULT);
+
+        for (int i = 0; i < 100; i++) {
+            append(path, "Error again. ");
+            assertTrue(follower.poll());
+        }
+        assertTrue(collecting.poll());
+
+        assertEquals(101, seen.size());
+        assertEquals(101, follower.result().count());
+        assertEquals(List.of(), follower.result().sentences());
+        assertEquals(collecting.result().count(), follower.result().count());
+        assertEquals(seen, collecting.result().sentences());
+    }
+
+    @Test
+    @DisplayName("Test a multibyte character split between polls is decoded once")
+    void testSplitCharacter() throws IOException {
+        byte[] content = "Caf\u00e9 error.".getBytes(StandardCharsets.UTF_8);
+        Path path = Files.write(directory.resolve("app.log"), Arrays.copyOf(content, 4));
+        LogFollower follower = new LogFollower("error", path, SearchOptions.DEFAULT);
+
+        assertTrue(follower.poll());
+        Files.write(path, Arrays.copyOfRange(content, 4, content.length), StandardOpenOption.APPEND);
+        assertTrue(follower.poll());
+
+        assertEquals(new Result(1, List.of("Caf\u00e9 error.")), follower.result());
+    }
+
+    @Test
+    @DisplayName("Test truncation restarts the search")
+    void testTruncation() throws IOException {
+        Path path = Files.writeString(directory.resolve("app.log"), "Error one. Error two.");
+        LogFollower follower = new LogFollower("Error", path, SearchOptions.DEFAULT);
+        follower.poll();
+
+        Files.writeString(path, "Error.");
+        assertTrue(follower.poll());
+
+        assertEquals(new Result(1, List.of("Error.")), follower.result());
+        assertEquals(1, follower.restarts());
+    }
+
+    @Test
+    @DisplayName("Test a rotated file is searched from its beginning")
+    void testRotation() throws IOException {
+        Path path = Files.writeString(directory.resolve("app.log"), "Error one.");
+        assumeTrue(Files.readAttributes(path, BasicFileAttributes.class).fileKey() != null);
+        LogFollower follower = new LogFollower("Error", path, SearchOptions.DEFAULT);
+        follower.poll();
+
+        Path rotated = Files.writeString(directory.resolve("app.log.new"), "Fine. Error two. More text");
+        Files.move(rotated, path, StandardCopyOption.REPLACE_EXISTING);
+        assertTrue(follower.poll());
+
+        assertEquals(new Result(1, List.of("Error two.")), follower.result());
+        assertEquals(1, follower.restarts());
+    }
+
+    @Test
+    @DisplayName("Test a missing file is waited for")
+    void testMissingFile() throws IOException {
+        Path path = directory.resolve("app.log");
+        LogFollower follower = new LogFollower("Error", path, SearchOptions.DEFAULT);
+
+        assertFalse(follower.poll());
+        Files.writeString(path, "Error.");
+        assertTrue(follower.poll());
+
+        assertEquals(new Result(1, List.of("Error.")), follower.result());
+    }
+
+    private static void append(Path path, String text) throws IOException {
+        Files.writeString(path, text, StandardOpenOption.APPEND);
+    }
+
+}
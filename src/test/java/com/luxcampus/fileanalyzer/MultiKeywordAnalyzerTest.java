@@ -0,0 +1,103 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("MultiKeywordAnalyzer tests")
+class MultiKeywordAnalyzerTest {
+
+    final static String RESOURCES = "src/test/resources";
+
+    @Test
+    @DisplayName("Test every keyword gets the same result as a single keyword search")
+    void testResultsMatchSingleKeywordSearch() throws IOException {
+        String path = RESOURCES + "/test1.txt";
+        List<String> keywords = List.of("tree", "window", "seen", "you", "absent");
+
+        Map<String, Result> results = MultiKeywordAnalyzer.find(keywords, new File(path), SearchOptions.DEFAULT);
+
+        assertEquals(keywords, new ArrayList<>(results.keySet()));
+        for (String keyword : keywords) {
+            assertEquals(FileAnalyzer.search(new String[]{path, keyword}), results.get(keyword));
+        }
+    }
+
+    @Test
+    @DisplayName("Test overlapping keywords are all reported by the automaton")
+    void testOverlappingKeywords() {
+        AhoCorasick automaton = new AhoCorasick(List.of("he", "she", "his", "hers"));
+        List<String> matches = new ArrayList<>();
+
+        automaton.scan("ushers", (keyword, start, end) -> matches.add(automaton.keyword(keyword) + ":" + start));
+
+        assertEquals(List.of("she:1", "he:2", "hers:2"), matches);
+    }
+
+    @Test
+    @DisplayName("Test duplicate keywords are searched once")
+    void testDuplicateKeywords() throws IOException {
+        String path = RESOURCES + "/test6.txt";
+
+        Map<String, Result> results = MultiKeywordAnalyzer.find(List.of("word", "word"), new File(path), SearchOptions.DEFAULT);
+
+        assertEquals(1, results.size());
+        assertEquals(7, results.get("word").count());
+        assertEquals(4, results.get("word").sentences().size());
+    }
+
+    @Test
+    @DisplayName("Test gzip files are searched decompressed")
+    void testGzipFile(@TempDir Path directory) throws IOException {
+        byte[] content = Files.readAllBytes(Path.of(RESOURCES, "test1.txt"));
+        Path path = directory.resolve("test1.txt.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(path))) {
+            outputStream.write(content);
+        }
+
+        assertResultsMatchSingleKeywordSearch(path.toFile());
+    }
+
+    @Test
+    @DisplayName("Test zip archives are searched entry by entry")
+    void testZipFile(@TempDir Path directory) throws IOException {
+        byte[] content = Files.readAllBytes(Path.of(RESOURCES, "test1.txt"));
+        Path path = directory.resolve("test1.zip");
+        try (ZipOutputStream outputStream = new ZipOutputStream(Files.newOutputStream(path))) {
+            outputStream.putNextEntry(new ZipEntry("first.txt"));
+            outputStream.write(content);
+            outputStream.putNextEntry(new ZipEntry("second.txt"));
+            outputStream.write(content);
+        }
+
+        assertResultsMatchSingleKeywordSearch(path.toFile());
+    }
+
+    private static void assertResultsMatchSingleKeywordSearch(File file) throws IOException {
+        List<String> keywords = List.of("tree", "window", "seen", "you", "absent");
+        for (SearchOptions options : List.of(SearchOptions.DEFAULT, SearchOptions.DEFAULT.withMode(SearchMode.CASE_INSENSITIVE))) {
+            Map<String, Result> results = MultiKeywordAnalyzer.find(keywords, file, options);
+
+            for (String keyword : keywords) {
+                assertEquals(FileAnalyzer.find(keyword, file, options), results.get(keyword));
+            }
+        }
+        assertTrue(MultiKeywordAnalyzer.find(keywords, file, SearchOptions.DEFAULT).get("tree").count() > 0);
+    }
+
+}
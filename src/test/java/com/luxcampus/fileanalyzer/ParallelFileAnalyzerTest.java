@@ -0,0 +1,77 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ParallelFileAnalyzer tests")
+class ParallelFileAnalyzerTest {
+
+    final static String RESOURCES = "src/test/resources";
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"test1.txt, tree", "test2.txt, Hello", "test3.txt, sentence", "test4.txt, word", "test5.txt, without", "test6.txt, word"})
+    @DisplayName("Test parallel search returns the same result as sequential search")
+    void testParallelSearchMatchesSequentialSearch(String fileName, String word) throws IOException {
+        String[] args = {RESOURCES + "/" + fileName, word};
+        Result expectedResult = FileAnalyzer.search(args);
+
+        Result actualResult = ParallelFileAnalyzer.find(word, new File(args[0]), SearchOptions.DEFAULT, 16, pool);
+
+        assertEquals(expectedResult, actualResult);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"test1.txt, tree, 1", "test2.txt, Hello, 7", "test3.txt, sentence, 5", "test6.txt, word, 64"})
+    @DisplayName("Test chunks larger than one mapping are scanned in windows")
+    void testChunksAreScannedInWindows(String fileName, String word, int mappingSize) throws IOException {
+        String[] args = {RESOURCES + "/" + fileName, word};
+        Result expectedResult = FileAnalyzer.search(args);
+
+        Result actualResult = ParallelFileAnalyzer.find(word, new File(args[0]), SearchOptions.DEFAULT, 1024,
+                mappingSize, pool);
+
+        assertEquals(expectedResult, actualResult);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"test1.txt, 1", "test1.txt, 64", "test4.txt, 8"})
+    @DisplayName("Test chunk boundaries are placed right after sentence separators")
+    void testChunkBoundariesAreAlignedToSentences(String fileName, int chunkSize) throws IOException {
+        File file = new File(RESOURCES + "/" + fileName);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long[] boundaries = ParallelFileAnalyzer.getChunkBoundaries(channel, 0, chunkSize);
+
+            assertEquals(0, boundaries[0]);
+            assertEquals(file.length(), boundaries[boundaries.length - 1]);
+            for (int i = 1; i < boundaries.length - 1; i++) {
+                char previous = (char) channel.map(FileChannel.MapMode.READ_ONLY, boundaries[i] - 1, 1).get();
+                assertTrue(SentenceReader.isSentenceEnd(previous));
+            }
+        }
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("ReadAheadReader tests")
+class ReadAheadReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test blocks are delivered in file order")
+    void testBlocksInOrder() throws IOException {
+        byte[] content = new byte[1000];
+        new Random(7).nextBytes(content);
+        Path file = Files.write(directory.resolve("data.bin"), content);
+
+        for (int depth = 1; depth <= 4; depth++) {
+            assertArrayEquals(content, read(file, 0, new DirectBufferPool(7, 4), depth));
+        }
+    }
+
+    @Test
+    @DisplayName("Test reading starts at the given position")
+    void testStartPosition() throws IOException {
+        Path file = Files.writeString(directory.resolve("text.txt"), "skip: Hello world.");
+
+        byte[] bytes = read(file, 6, new DirectBufferPool(4, 2), 3);
+
+        assertEquals("Hello world.", new String(bytes));
+    }
+
+    @Test
+    @DisplayName("Test empty file delivers no blocks")
+    void testEmptyFile() throws IOException {
+        Path file = Files.createFile(directory.resolve("empty.txt"));
+
+        assertEquals(0, read(file, 0, new DirectBufferPool(4, 2), 3).length);
+    }
+
+    @Test
+    @DisplayName("Test buffers go back to the pool even when the consumer fails")
+    void testBuffersAreReleased() throws IOException {
+        Path file = Files.write(directory.resolve("data.bin"), new byte[100]);
+        DirectBufferPool pool = new DirectBufferPool(8, 1);
+        ByteBuffer[] first = new ByteBuffer[1];
+
+        assertThrows(IllegalStateException.class, () -> ReadAheadReader.read(file, 0, pool, 3, block -> {
+            first[0] = block;
+            throw new IllegalStateException();
+        }));
+
+        assertSame(first[0], pool.acquire());
+    }
+
+    private static byte[] read(Path file, long start, DirectBufferPool pool, int depth) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ReadAheadReader.read(file, start, pool, depth, block -> {
+            byte[] bytes = new byte[block.remaining()];
+            block.get(bytes);
+            output.write(bytes, 0, bytes.length);
+        });
+        return output.toByteArray();
+    }
+
+}
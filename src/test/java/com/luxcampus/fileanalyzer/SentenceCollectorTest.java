@@ -0,0 +1,130 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("SentenceCollector tests")
+class SentenceCollectorTest {
+
+    private static final SearchOptions FIRST_TWO = SearchOptions.DEFAULT.withSentenceLimit(2);
+    private static final SearchOptions SAMPLE_TWO = FIRST_TWO.withRetention(SearchOptions.Retention.SAMPLE);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test only the first sentences are kept and the count stays exact")
+    void testFirst() throws IOException {
+        Path path = Files.writeString(directory.resolve("text.txt"), "One cat. Two cat! Three cat? Four cat.");
+
+        Result result = FileAnalyzer.search(new String[]{path.toString(), "cat"}, FIRST_TWO);
+
+        assertEquals(new Result(4, List.of("One cat.", "Two cat!"), true), result);
+    }
+
+    @Test
+    @DisplayName("Test result is not truncated when it fits the limit")
+    void testWithinLimit() {
+        SentenceCollector collector = new SentenceCollector(FIRST_TWO);
+        collector.accept("a");
+        collector.accept("b");
+
+        assertEquals(new Result(2, List.of("a", "b"), false), collector.toResult(2));
+    }
+
+    @Test
+    @DisplayName("Test reservoir sample keeps sentences of the input in file order")
+    void testSample() {
+        List<String> input = new ArrayList<>();
+        SentenceCollector collector = new SentenceCollector(SAMPLE_TWO);
+        for (int i = 0; i < 100; i++) {
+            input.add("sentence " + i);
+            collector.accept("sentence " + i);
+        }
+
+        Result result = collector.toResult(100);
+
+        assertTrue(result.truncated());
+        assertEquals(2, result.sentences().size());
+        assertTrue(input.indexOf(result.sentences().get(0)) < input.indexOf(result.sentences().get(1)));
+    }
+
+    @Test
+    @DisplayName("Test merging keeps the first sentences of the combined input")
+    void testMergeFirst() {
+        SentenceCollector first = new SentenceCollector(FIRST_TWO);
+        first.accept("a");
+        SentenceCollector second = new SentenceCollector(FIRST_TWO);
+        second.accept("b");
+        second.accept("c");
+
+        first.merge(second);
+
+        assertEquals(new Result(3, List.of("a", "b"), true), first.toResult(3));
+    }
+
+    @Test
+    @DisplayName("Test merging samples keeps the limit and the file order")
+    void testMergeSample() {
+        SentenceCollector first = new SentenceCollector(SAMPLE_TWO);
+        SentenceCollector second = new SentenceCollector(SAMPLE_TWO);
+        for (int i = 0; i < 10; i++) {
+            first.accept("a" + i);
+            second.accept("b" + i);
+        }
+
+        first.merge(second);
+        Result result = first.toResult(20);
+
+        assertEquals(2, result.sentences().size());
+        assertTrue(result.truncated());
+        assertFalse(result.sentences().get(0).startsWith("b") && result.sentences().get(1).startsWith("a"));
+    }
+
+    @Test
+    @DisplayName("Test parallel search honours the sentence limit")
+    void testParallel() throws IOException {
+        Path path = Files.writeString(directory.resolve("text.txt"), "One cat. Two cat! Three cat? Four cat.");
+
+        Result result = ParallelFileAnalyzer.find("cat", path.toFile(), FIRST_TWO, 8,
+                ForkJoinPool.commonPool());
+
+        assertEquals(new Result(4, List.of("One cat.", "Two cat!"), true), result);
+    }
+
+    @Test
+    @DisplayName("Test offsets are reported instead of sentences")
+    void testOffsets() throws IOException {
+        String content = "One cat. No dog! Two cats, cat?";
+        Path path = Files.writeString(directory.resolve("text.txt"), content);
+        List<String> sentences = new ArrayList<>();
+
+        int count = FileAnalyzer.findOffsets("cat", path.toFile(), SearchOptions.DEFAULT, (offset, length) ->
+                sentences.add(content.substring((int) offset, (int) offset + length)));
+
+        assertEquals(2, count);
+        assertEquals(List.of("One cat.", "Two cats, cat?"), sentences);
+    }
+
+    @Test
+    @DisplayName("Test limit settings are parsed")
+    void testSettings() {
+        SearchOptions options = SearchOptions.DEFAULT.with("--max-sentences=5").with("--keep=sample");
+
+        assertEquals(5, options.sentenceLimit());
+        assertEquals(SearchOptions.Retention.SAMPLE, options.retention());
+    }
+
+}
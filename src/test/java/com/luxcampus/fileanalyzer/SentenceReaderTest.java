@@ -0,0 +1,57 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("SentenceReader unit tests")
+class SentenceReaderTest {
+
+    @DisplayName("Test sentences are equal to breakIntoSentences() result")
+    @Test
+    void testSentencesMatchBreakIntoSentences() throws IOException {
+        String content = "word 1. Another word! And one more word? Tail without separator";
+
+        List<String> resultSentences = readAll(content, SentenceReader.DEFAULT_BUFFER_SIZE);
+
+        assertEquals(FileAnalyzer.breakIntoSentences(content), resultSentences);
+    }
+
+    @DisplayName("Test sentences spanning buffer edges")
+    @Test
+    void testSentencesSpanningBufferEdges() throws IOException {
+        String content = "Hello World! Hello. Never again. One more. hello? No.";
+
+        List<String> resultSentences = readAll(content, 3);
+
+        assertEquals(FileAnalyzer.breakIntoSentences(content), resultSentences);
+    }
+
+    @DisplayName("Test reading content that consists of separators only")
+    @Test
+    void testSeparatorsOnly() throws IOException {
+        String content = "?!...";
+
+        List<String> resultSentences = readAll(content, 2);
+
+        assertEquals(List.of("?", "!", ".", ".", "."), resultSentences);
+    }
+
+    private static List<String> readAll(String content, int bufferSize) throws IOException {
+        List<String> sentences = new ArrayList<>();
+        try (SentenceReader reader = new SentenceReader(new StringReader(content), bufferSize)) {
+            String sentence;
+            while ((sentence = reader.nextSentence()) != null) {
+                sentences.add(sentence);
+            }
+        }
+        return sentences;
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("StatisticsAnalyzer tests")
+class StatisticsAnalyzerTest {
+
+    private static final String CONTENT = "The cat sat. The cat ran! A dog, the cat? The end";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test words and bigrams within sentences are counted")
+    void testStatistics() throws IOException {
+        Path path = Files.writeString(directory.resolve("text.txt"), CONTENT);
+
+        TermStatistics statistics = StatisticsAnalyzer.analyze(path.toFile(), 2, SearchOptions.DEFAULT);
+
+        assertEquals(12, statistics.words());
+        assertEquals(8, statistics.distinctWords());
+        assertEquals(List.of(new TermCount("The", 3), new TermCount("cat", 3)), statistics.topWords());
+        assertEquals(List.of(new TermCount("The cat", 2), new TermCount("A dog", 1)), statistics.topBigrams());
+    }
+
+    @Test
+    @DisplayName("Test chunked counting matches counting the whole file")
+    void testChunks() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            content.append("word").append(i % 37).append(" next").append(i % 11).append(i % 3 == 0 ? ". " : " ");
+        }
+        Path path = Files.writeString(directory.resolve("text.txt"), content);
+
+        TermCounter whole = StatisticsAnalyzer.count(path.toFile(), SearchOptions.DEFAULT, Integer.MAX_VALUE,
+                ForkJoinPool.commonPool());
+        TermCounter chunked = StatisticsAnalyzer.count(path.toFile(), SearchOptions.DEFAULT, 100,
+                new ForkJoinPool(4));
+
+        assertEquals(whole.toStatistics(1000), chunked.toStatistics(1000));
+        assertEquals(4000, chunked.words().total());
+    }
+
+    @Test
+    @DisplayName("Test chunks larger than one mapping are counted in windows")
+    void testMappingWindows() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            content.append("w\u00f6rd").append(i % 37).append(" next").append(i % 11).append(i % 50 == 0 ? ". " : " ");
+        }
+        Path path = Files.writeString(directory.resolve("text.txt"), content);
+
+        TermCounter whole = StatisticsAnalyzer.count(path.toFile(), SearchOptions.DEFAULT, Integer.MAX_VALUE,
+                ForkJoinPool.commonPool());
+        for (int mappingSize : new int[]{32, 57, 1000}) {
+            TermCounter windowed = StatisticsAnalyzer.count(path.toFile(), SearchOptions.DEFAULT, 4096, mappingSize,
+                    ForkJoinPool.commonPool());
+
+            assertEquals(whole.toStatistics(1000), windowed.toStatistics(1000));
+        }
+    }
+
+    @Test
+    @DisplayName("Test non-ASCII words and UTF-16 files are counted as text")
+    void testCharsets() throws IOException {
+        Path path = directory.resolve("text.txt");
+        Files.write(path, "\ufeffCaf\u00e9 caf\u00e9. Caf\u00e9".getBytes(StandardCharsets.UTF_16LE));
+
+        TermStatistics statistics = StatisticsAnalyzer.analyze(path.toFile(), 1, SearchOptions.DEFAULT);
+
+        assertEquals(List.of(new TermCount("Caf\u00e9", 2)), statistics.topWords());
+        assertEquals(List.of(new TermCount("Caf\u00e9 caf\u00e9", 1)), statistics.topBigrams());
+    }
+
+    @Test
+    @DisplayName("Test directory counts are merged and binary files skipped")
+    void testDirectory() throws IOException {
+        Files.writeString(directory.resolve("first.txt"), "Alpha beta. Beta.");
+        Files.createDirectory(directory.resolve("nested"));
+        Files.writeString(directory.resolve("nested/second.txt"), "Beta gamma.");
+        Files.write(directory.resolve("data.bin"), new byte[]{'B', 'e', 't', 'a', 0});
+
+        TermStatistics statistics = StatisticsAnalyzer.analyzeDirectory(directory.toString(), 1,
+                SearchOptions.DEFAULT);
+
+        assertEquals(5, statistics.words());
+        assertEquals(List.of(new TermCount("Beta", 2)), statistics.topWords());
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.luxcampus.fileanalyzer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("TermTable tests")
+class TermTableTest {
+
+    @Test
+    @DisplayName("Test counts agree with a hash map while the table grows")
+    void testCounts() {
+        Random random = new Random(3);
+        TermTable table = new TermTable();
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            String term = "t" + random.nextInt(5000);
+            add(table, term);
+            expected.merge(term, 1L, Long::sum);
+        }
+
+        assertEquals(expected.size(), table.size());
+        assertEquals(50_000, table.total());
+        expected.forEach((term, count) -> assertEquals(count, table.count(term)));
+        assertEquals(0, table.count("missing"));
+    }
+
+    @Test
+    @DisplayName("Test merged tables add their counts")
+    void testMerge() {
+        TermTable first = new TermTable();
+        TermTable second = new TermTable();
+        add(first, "a");
+        add(first, "b");
+        add(second, "b");
+        add(second, "c");
+
+        first.merge(second);
+
+        assertEquals(1, first.count("a"));
+        assertEquals(2, first.count("b"));
+        assertEquals(1, first.count("c"));
+        assertEquals(4, first.total());
+    }
+
+    @Test
+    @DisplayName("Test top terms are ordered by count and then by term")
+    void testTop() {
+        Random random = new Random(5);
+        TermTable table = new TermTable();
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            String term = "w" + (int) Math.sqrt(random.nextInt(400 * 400));
+            add(table, term);
+            expected.merge(term, 1L, Long::sum);
+        }
+
+        List<TermCount> top = expected.entrySet().stream()
+                .map(entry -> new TermCount(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(TermCount::count).reversed().thenComparing(TermCount::term))
+                .limit(7)
+                .toList();
+        assertEquals(top, table.top(7));
+        assertEquals(expected.size(), table.top(1000).size());
+        assertEquals(List.of(), table.top(0));
+    }
+
+    private static void add(TermTable table, String term) {
+        byte[] key = term.getBytes(StandardCharsets.UTF_8);
+        table.add(key, 0, key.length);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.luxcampus.filemanager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static com.luxcampus.filemanager.ParallelCopierTest.assertSameContent;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("DedupCopier tests")
+class DedupCopierTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test duplicates are written once and linked")
+    void testDuplicatesAreLinked() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        Files.createDirectories(from.resolve("backup/old"));
+        Files.writeString(from.resolve("a.txt"), "same content");
+        Files.writeString(from.resolve("backup/a.txt"), "same content");
+        Files.writeString(from.resolve("backup/old/a.txt"), "same content");
+        Files.writeString(from.resolve("b.txt"), "same length!");
+        Files.writeString(from.resolve("c.txt"), "unique");
+
+        DedupReport report = FileManager.copyDeduplicated(from.toString(), to.toString());
+
+        assertEquals(new DedupReport(3, 2, 30, 24), report);
+        for (String path : new String[]{"a.txt", "backup/a.txt", "backup/old/a.txt", "b.txt", "c.txt"}) {
+            assertSameContent(from.resolve(path), to.resolve(path));
+        }
+        assertTrue(Files.isSameFile(to.resolve("a.txt"), to.resolve("backup/old/a.txt")));
+        assertFalse(Files.isSameFile(to.resolve("a.txt"), to.resolve("b.txt")));
+    }
+
+    @Test
+    @DisplayName("Test existing destination files are replaced")
+    void testExistingFilesAreReplaced() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        Files.createDirectories(from);
+        Files.createDirectories(to);
+        Files.writeString(from.resolve("a.txt"), "content");
+        Files.writeString(from.resolve("b.txt"), "content");
+        Files.writeString(to.resolve("b.txt"), "old");
+
+        FileManager.copyDeduplicated(from.toString(), to.toString());
+
+        assertEquals("content", Files.readString(to.resolve("b.txt")));
+        assertTrue(Files.isSameFile(to.resolve("a.txt"), to.resolve("b.txt")));
+    }
+
+    @Test
+    @DisplayName("Test a later copy over a linked file does not change its links")
+    void testCopyOverLinkedFile() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        Files.createDirectories(from);
+        byte[] content = new byte[(int) ParallelCopier.TRANSFER_THRESHOLD + 1];
+        Arrays.fill(content, (byte) 'a');
+        Files.write(from.resolve("one.bin"), content);
+        Files.write(from.resolve("two.bin"), content);
+        FileManager.copyDeduplicated(from.toString(), to.toString());
+        assertTrue(Files.isSameFile(to.resolve("one.bin"), to.resolve("two.bin")));
+
+        Files.delete(from.resolve("two.bin"));
+        Arrays.fill(content, (byte) 'b');
+        Files.write(from.resolve("one.bin"), content);
+        FileManager.copy(from.toString(), to.toString());
+
+        assertSameContent(from.resolve("one.bin"), to.resolve("one.bin"));
+        byte[] expected = new byte[content.length];
+        Arrays.fill(expected, (byte) 'a');
+        assertArrayEquals(expected, Files.readAllBytes(to.resolve("two.bin")));
+    }
+
+    @Test
+    @DisplayName("Test hash is the SHA-256 of the content")
+    void testHash() throws IOException {
+        Path file = Files.writeString(directory.resolve("abc.txt"), "abc");
+
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", DedupCopier.hash(file));
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.luxcampus.filemanager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static com.luxcampus.filemanager.ParallelCopierTest.assertSameContent;
+import static com.luxcampus.filemanager.ParallelCopierTest.createTree;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DisplayName("IncrementalCopier tests")
+class IncrementalCopierTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test second run copies nothing")
+    void testUnchangedTreeIsSkipped() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+
+        SyncReport first = FileManager.sync(from.toString(), to.toString());
+        SyncReport second = FileManager.sync(from.toString(), to.toString());
+
+        assertEquals(new SyncReport(3, 0, Files.size(from.resolve("inner/deeper/large.bin")) + 12), first);
+        assertEquals(new SyncReport(0, 3, 0), second);
+        assertSameContent(from.resolve("inner/deeper/large.bin"), to.resolve("inner/deeper/large.bin"));
+        assertFalse(Files.exists(IncrementalCopier.journalPath(to)));
+        assertNoPartialFiles(to);
+    }
+
+    @Test
+    @DisplayName("Test changed files are copied again")
+    void testChangedFileIsCopied() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        FileManager.sync(from.toString(), to.toString());
+
+        Files.writeString(from.resolve("inner/b.txt"), "file b, changed");
+        SyncReport report = FileManager.sync(from.toString(), to.toString());
+
+        assertEquals(new SyncReport(1, 2, 15), report);
+        assertSameContent(from.resolve("inner/b.txt"), to.resolve("inner/b.txt"));
+    }
+
+    @Test
+    @DisplayName("Test content mode finds changes that keep size and modification time")
+    void testContentComparison() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        FileManager.sync(from.toString(), to.toString());
+
+        Path target = to.resolve("a.txt");
+        FileTime time = Files.getLastModifiedTime(target);
+        Files.writeString(target, "file z");
+        Files.setLastModifiedTime(target, time);
+
+        assertEquals(0, FileManager.sync(from.toString(), to.toString()).filesCopied());
+        assertEquals(1, FileManager.sync(from.toString(), to.toString(), true).filesCopied());
+        assertSameContent(from.resolve("a.txt"), target);
+    }
+
+    @Test
+    @DisplayName("Test interrupted run resumes from the journal")
+    void testResumeFromJournal() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        Files.createDirectories(to);
+        Files.writeString(to.resolve("a.txt"), "file a");
+        Files.setLastModifiedTime(to.resolve("a.txt"), Files.getLastModifiedTime(from.resolve("a.txt")));
+        Files.writeString(IncrementalCopier.journalPath(to), "a.txt" + System.lineSeparator());
+
+        SyncReport report = FileManager.sync(from.toString(), to.toString(), true);
+
+        assertEquals(2, report.filesCopied());
+        assertEquals(1, report.filesSkipped());
+        assertFalse(Files.exists(IncrementalCopier.journalPath(to)));
+    }
+
+    @Test
+    @DisplayName("Test journaled files are copied again when the source changed since")
+    void testJournaledFileChanged() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        Files.createDirectories(to);
+        Files.writeString(to.resolve("a.txt"), "file a");
+        Files.setLastModifiedTime(to.resolve("a.txt"), FileTime.fromMillis(0));
+        Files.writeString(IncrementalCopier.journalPath(to), "a.txt" + System.lineSeparator());
+        Files.writeString(from.resolve("a.txt"), "file z");
+
+        SyncReport report = FileManager.sync(from.toString(), to.toString());
+
+        assertEquals(3, report.filesCopied());
+        assertSameContent(from.resolve("a.txt"), to.resolve("a.txt"));
+    }
+
+    @Test
+    @DisplayName("Test modification times stored at a coarser precision still match")
+    void testCoarseModificationTime() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        Files.setLastModifiedTime(from.resolve("a.txt"), FileTime.fromMillis(1_700_000_000_999L));
+        FileManager.sync(from.toString(), to.toString());
+
+        Files.setLastModifiedTime(to.resolve("a.txt"), FileTime.fromMillis(1_700_000_000_000L));
+        assertEquals(0, FileManager.sync(from.toString(), to.toString()).filesCopied());
+        Files.setLastModifiedTime(to.resolve("a.txt"), FileTime.fromMillis(1_700_000_002_000L));
+        assertEquals(0, FileManager.sync(from.toString(), to.toString()).filesCopied());
+        Files.setLastModifiedTime(to.resolve("a.txt"), FileTime.fromMillis(1_700_000_004_000L));
+        assertEquals(1, FileManager.sync(from.toString(), to.toString()).filesCopied());
+    }
+
+    @Test
+    @DisplayName("Test source file named like the journal is mirrored")
+    void testSourceFileNamedLikeJournal() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        Files.writeString(from.resolve(IncrementalCopier.JOURNAL_NAME), "not a journal");
+
+        SyncReport report = FileManager.sync(from.toString(), to.toString());
+
+        assertEquals(4, report.filesCopied());
+        assertSameContent(from.resolve(IncrementalCopier.JOURNAL_NAME), to.resolve(IncrementalCopier.JOURNAL_NAME));
+        assertFalse(Files.exists(IncrementalCopier.journalPath(to)));
+        assertEquals(new SyncReport(0, 4, 0), FileManager.sync(from.toString(), to.toString()));
+    }
+
+    private static void assertNoPartialFiles(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            assertEquals(0, paths.filter(path -> path.toString().endsWith(TreeMover.PARTIAL_SUFFIX)).count());
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.luxcampus.filemanager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("ParallelCopier tests")
+class ParallelCopierTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test copying a tree with small and large files")
+    void testCopyTree() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+
+        new ParallelCopier(4).copy(from, to);
+
+        assertTrue(Files.isDirectory(to.resolve("empty")));
+        assertSameContent(from.resolve("a.txt"), to.resolve("a.txt"));
+        assertSameContent(from.resolve("inner/b.txt"), to.resolve("inner/b.txt"));
+        assertSameContent(from.resolve("inner/deeper/large.bin"), to.resolve("inner/deeper/large.bin"));
+    }
+
+    @Test
+    @DisplayName("Test copying over existing files replaces their content")
+    void testCopyReplacesExistingFiles() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        Files.createDirectories(to.resolve("inner/deeper"));
+        Files.writeString(to.resolve("inner/b.txt"), "old content that is longer than the new one");
+        Files.writeString(to.resolve("inner/deeper/large.bin"), "old");
+
+        new ParallelCopier(2).copy(from, to);
+
+        assertSameContent(from.resolve("inner/b.txt"), to.resolve("inner/b.txt"));
+        assertSameContent(from.resolve("inner/deeper/large.bin"), to.resolve("inner/deeper/large.bin"));
+    }
+
+    @Test
+    @DisplayName("Test copying a single file")
+    void testCopySingleFile() throws IOException {
+        Path from = directory.resolve("single.txt");
+        Path to = directory.resolve("copy.txt");
+        Files.writeString(from, "single file");
+
+        FileManager.copy(from.toString(), to.toString(), 1);
+
+        assertSameContent(from, to);
+    }
+
+    @Test
+    @DisplayName("Test files that end with the staging suffix are copied and kept")
+    void testPartialNamesDoNotCollide() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        Files.createDirectories(from);
+        Files.createDirectories(to);
+        byte[] large = new byte[(int) ParallelCopier.TRANSFER_THRESHOLD + 1];
+        new Random(11).nextBytes(large);
+        Files.writeString(from.resolve("a"), "AAAA");
+        Files.writeString(from.resolve("a" + TreeMover.PARTIAL_SUFFIX), "PPPP");
+        Files.write(from.resolve("large.bin"), large);
+        Files.write(from.resolve("large.bin" + TreeMover.PARTIAL_SUFFIX), Arrays.copyOf(large, 10));
+        Files.writeString(to.resolve("x" + TreeMover.PARTIAL_SUFFIX), "user owned");
+        Files.writeString(from.resolve("x"), "x");
+
+        for (int run = 0; run < 5; run++) {
+            FileManager.copy(from.toString(), to.toString(), 8);
+
+            for (String name : new String[]{"a", "a.partial", "large.bin", "large.bin.partial", "x"}) {
+                assertSameContent(from.resolve(name), to.resolve(name));
+            }
+            assertEquals("user owned", Files.readString(to.resolve("x" + TreeMover.PARTIAL_SUFFIX)));
+            try (Stream<Path> files = Files.list(to)) {
+                assertEquals(6, files.count());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test copied files keep the permissions of the source")
+    void testPermissionsAreCopied() throws IOException {
+        Path from = directory.resolve("large.bin");
+        Path to = directory.resolve("copy.bin");
+        Files.write(from, new byte[(int) ParallelCopier.TRANSFER_THRESHOLD + 1]);
+        assumeTrue(from.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Files.setPosixFilePermissions(from, PosixFilePermissions.fromString("rw-r--r--"));
+
+        new ParallelCopier(1).copy(from, to);
+
+        assertEquals(Files.getPosixFilePermissions(from), Files.getPosixFilePermissions(to));
+    }
+
+    @Test
+    @DisplayName("Test linked directories are copied with their content")
+    void testSymbolicLinks() throws IOException {
+        Path from = directory.resolve("from");
+        Path real = directory.resolve("real");
+        Path to = directory.resolve("to");
+        Files.createDirectories(from);
+        Files.createDirectories(real);
+        Files.writeString(from.resolve("top"), "top");
+        Files.writeString(real.resolve("f1"), "first");
+        Files.writeString(real.resolve("f2"), "second");
+        Files.createSymbolicLink(from.resolve("link"), real);
+        Files.createSymbolicLink(from.resolve("loop"), from);
+        Files.createSymbolicLink(from.resolve("dangling"), directory.resolve("missing"));
+
+        FileManager.copy(from.toString(), to.toString(), 2);
+
+        assertSameContent(from.resolve("top"), to.resolve("top"));
+        assertFalse(Files.isSymbolicLink(to.resolve("link")));
+        assertSameContent(real.resolve("f1"), to.resolve("link/f1"));
+        assertSameContent(real.resolve("f2"), to.resolve("link/f2"));
+        assertEquals(from, Files.readSymbolicLink(to.resolve("loop")));
+        assertEquals(directory.resolve("missing"), Files.readSymbolicLink(to.resolve("dangling")));
+    }
+
+    static void createTree(Path root) throws IOException {
+        Files.createDirectories(root.resolve("inner/deeper"));
+        Files.createDirectories(root.resolve("empty"));
+        Files.writeString(root.resolve("a.txt"), "file a");
+        Files.writeString(root.resolve("inner/b.txt"), "file b");
+        byte[] large = new byte[(int) ParallelCopier.TRANSFER_THRESHOLD * 2 + 17];
+        new Random(42).nextBytes(large);
+        Files.write(root.resolve("inner/deeper/large.bin"), large);
+    }
+
+    static void assertSameContent(Path expected, Path actual) throws IOException {
+        assertEquals(-1, Files.mismatch(expected, actual), actual.toString());
+    }
+
+}
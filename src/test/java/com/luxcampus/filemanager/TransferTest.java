@@ -0,0 +1,182 @@
+package com.luxcampus.filemanager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import static com.luxcampus.filemanager.ParallelCopierTest.assertSameContent;
+import static com.luxcampus.filemanager.ParallelCopierTest.createTree;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Transfer tests")
+class TransferTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test asynchronous copy completes with full progress")
+    void testCopyAsync() throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        TreeStats stats = FileManager.stats(from.toString());
+
+        Transfer transfer = FileManager.copyAsync(from.toString(), to.toString(), 2);
+        transfer.completion().get(30, TimeUnit.SECONDS);
+
+        TransferProgress progress = transfer.progress();
+        assertEquals(stats.files(), progress.filesDone());
+        assertEquals(stats.files(), progress.filesTotal());
+        assertEquals(stats.totalBytes(), progress.bytesDone());
+        assertEquals(stats.totalBytes(), progress.bytesTotal());
+        assertEquals(1.0, progress.fraction());
+        assertSameContent(from.resolve("inner/deeper/large.bin"), to.resolve("inner/deeper/large.bin"));
+    }
+
+    @Test
+    @DisplayName("Test asynchronous move completes")
+    void testMoveAsync() throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+
+        Transfer transfer = FileManager.moveAsync(from.toString(), to.toString());
+        transfer.completion().get(30, TimeUnit.SECONDS);
+
+        assertFalse(Files.exists(from));
+        assertTrue(Files.isRegularFile(to.resolve("inner/deeper/large.bin")));
+        assertEquals(transfer.progress().bytesTotal(), transfer.progress().bytesDone());
+    }
+
+    @Test
+    @DisplayName("Test cancelled copy removes what it created")
+    void testCancelledCopyCleansUp() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        Transfer transfer = new Transfer() {
+            @Override
+            void fileDone() {
+                super.fileDone();
+                cancel();
+            }
+        };
+
+        assertThrows(CancellationException.class, () -> new ParallelCopier(1, transfer).copy(from, to));
+
+        assertFalse(Files.exists(to));
+        assertTrue(Files.isRegularFile(from.resolve("inner/deeper/large.bin")));
+    }
+
+    @Test
+    @DisplayName("Test cancelled copy keeps files that existed before")
+    void testCancelledCopyKeepsExistingFiles() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        Files.createDirectories(to);
+        Files.writeString(to.resolve("keep.txt"), "keep");
+        Transfer transfer = new Transfer();
+        transfer.cancel();
+
+        assertThrows(CancellationException.class, () -> new ParallelCopier(1, transfer).copy(from, to));
+
+        assertEquals("keep", Files.readString(to.resolve("keep.txt")));
+        assertFalse(Files.exists(to.resolve("a.txt")));
+    }
+
+    @Test
+    @DisplayName("Test cancelled move leaves the remaining files at the source")
+    void testCancelledMove() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        Transfer transfer = new Transfer();
+        transfer.cancel();
+
+        assertThrows(CancellationException.class, () -> TreeMover.moveByCopying(from, to, transfer));
+
+        assertTrue(Files.isRegularFile(from.resolve("inner/deeper/large.bin")));
+        assertFalse(Files.exists(to.resolve("a.txt")));
+    }
+
+    @Test
+    @DisplayName("Test cancelling the future cancels the transfer")
+    void testFutureCancellation() {
+        Transfer transfer = new Transfer();
+
+        transfer.completion().cancel(false);
+
+        assertTrue(transfer.isCancelled());
+        assertFalse(transfer.completion().isDone());
+    }
+
+    @Test
+    @DisplayName("Test cancelled future completes only after the cleanup")
+    void testFutureCompletesAfterCleanup() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        createTree(from);
+        Transfer transfer = new Transfer() {
+            @Override
+            void fileDone() {
+                super.fileDone();
+                completion().cancel(false);
+            }
+
+            @Override
+            void deleteCreated() throws IOException {
+                assertFalse(completion().isDone());
+                super.deleteCreated();
+            }
+        };
+
+        CancellationException error = assertThrows(CancellationException.class,
+                () -> new ParallelCopier(1, transfer).copy(from, to));
+
+        assertFalse(transfer.completion().isDone());
+        assertFalse(Files.exists(to));
+        transfer.fail(error);
+        assertTrue(transfer.completion().isCancelled());
+    }
+
+    @Test
+    @DisplayName("Test cancelled copy keeps the old content of a file it was replacing")
+    void testCancelledOverwrite() throws IOException {
+        Path from = directory.resolve("large.bin");
+        Path to = directory.resolve("copy.bin");
+        byte[] content = new byte[(int) ParallelCopier.TRANSFER_CHUNK_SIZE + 17];
+        new Random(7).nextBytes(content);
+        Files.write(from, content);
+        Files.writeString(to, "old content");
+        Transfer transfer = new Transfer() {
+            @Override
+            void addBytes(long bytes) {
+                super.addBytes(bytes);
+                cancel();
+            }
+        };
+
+        assertThrows(CancellationException.class, () -> new ParallelCopier(1, transfer).copy(from, to));
+
+        assertEquals("old content", Files.readString(to));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.filter(path -> path.toString().endsWith(TreeMover.PARTIAL_SUFFIX)).count());
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.luxcampus.filemanager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("TreeCountCache tests")
+class TreeCountCacheTest {
+
+    private static final long EVENT_TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test cached counts follow created and deleted files and directories")
+    void testCountsFollowChanges() throws IOException, InterruptedException {
+        ParallelCopierTest.createTree(directory);
+        String path = directory.toString();
+
+        try (TreeCountCache cache = new TreeCountCache()) {
+            assertEquals(FileManager.countFiles(path), cache.countFiles(path));
+            assertEquals(FileManager.countDirs(path), cache.countDirs(path));
+
+            Files.createDirectories(directory.resolve("created/nested"));
+            Files.writeString(directory.resolve("created/nested/new.txt"), "new");
+            Files.delete(directory.resolve("a.txt"));
+            awaitCounts(cache, path);
+
+            FileManager.delete(directory.resolve("inner").toFile());
+            awaitCounts(cache, path);
+        }
+    }
+
+    @Test
+    @DisplayName("Test cold trees are evicted and rescanned on demand")
+    void testEviction() throws IOException, InterruptedException {
+        Path first = directory.resolve("first");
+        Path second = directory.resolve("second");
+        ParallelCopierTest.createTree(first);
+        ParallelCopierTest.createTree(second);
+
+        try (TreeCountCache cache = new TreeCountCache(5)) {
+            assertEquals(3, cache.countFiles(first.toString()));
+            assertEquals(3, cache.countFiles(second.toString()));
+            assertTrue(cache.watchedDirectories() <= 5);
+            Files.writeString(first.resolve("inner/deeper/extra.txt"), "extra");
+
+            awaitCounts(cache, first.toString());
+            assertEquals(4, cache.countFiles(first.toString()));
+            assertTrue(cache.watchedDirectories() <= 5);
+        }
+    }
+
+    @Test
+    @DisplayName("Test a tree larger than the limit is counted with at most the limit watched")
+    void testOversizedTree() throws IOException, InterruptedException {
+        for (int i = 0; i < 6; i++) {
+            Files.createDirectories(directory.resolve("d" + i + "/nested"));
+            Files.writeString(directory.resolve("d" + i + "/nested/f.txt"), "f");
+        }
+        String path = directory.toString();
+
+        try (TreeCountCache cache = new TreeCountCache(4)) {
+            assertEquals(6, cache.countFiles(path));
+            assertEquals(12, cache.countDirs(path));
+            assertTrue(cache.watchedDirectories() <= 4);
+
+            for (int i = 0; i < 6; i++) {
+                Files.writeString(directory.resolve("d" + i + "/nested/g.txt"), "g");
+            }
+            Files.createDirectories(directory.resolve("d0/nested/more"));
+            awaitCounts(cache, path);
+            assertTrue(cache.watchedDirectories() <= 4);
+        }
+    }
+
+    @Test
+    @DisplayName("Test nested roots share their watched directories")
+    void testNestedRoots() throws IOException, InterruptedException {
+        ParallelCopierTest.createTree(directory);
+        Path inner = directory.resolve("inner");
+
+        try (TreeCountCache cache = new TreeCountCache()) {
+            assertEquals(2, cache.countFiles(inner.toString()));
+            assertEquals(3, cache.countFiles(directory.toString()));
+            assertEquals(4, cache.watchedDirectories());
+
+            Files.writeString(inner.resolve("c.txt"), "file c");
+            awaitCounts(cache, directory.toString());
+            assertEquals(3, cache.countFiles(inner.toString()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test directories that cannot be watched are counted unwatched")
+    void testWatchLimitReached() throws IOException, InterruptedException {
+        for (int i = 0; i < 6; i++) {
+            Files.createDirectories(directory.resolve("d" + i + "/nested"));
+            Files.writeString(directory.resolve("d" + i + "/nested/f.txt"), "f");
+        }
+        String path = directory.toString();
+        int[] registered = new int[1];
+
+        try (TreeCountCache cache = new TreeCountCache() {
+            @Override
+            WatchKey register(Path directory) throws IOException {
+                if (registered[0] == 3) {
+                    throw new IOException("User limit of inotify watches reached");
+                }
+                registered[0]++;
+                return super.register(directory);
+            }
+        }) {
+            assertEquals(6, cache.countFiles(path));
+            assertEquals(12, cache.countDirs(path));
+            assertTrue(cache.watchedDirectories() <= 3);
+
+            Files.writeString(directory.resolve("d5/nested/g.txt"), "g");
+            awaitCounts(cache, path);
+            assertTrue(cache.watchedDirectories() <= 3);
+        }
+    }
+
+    private static void awaitCounts(TreeCountCache cache, String path) throws InterruptedException {
+        int expectedFiles = FileManager.countFiles(path);
+        int expectedDirs = FileManager.countDirs(path);
+        long deadline = System.currentTimeMillis() + EVENT_TIMEOUT_MILLIS;
+        while ((cache.countFiles(path) != expectedFiles || cache.countDirs(path) != expectedDirs)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(expectedFiles, cache.countFiles(path));
+        assertEquals(expectedDirs, cache.countDirs(path));
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.luxcampus.filemanager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("TreeDeleter tests")
+class TreeDeleterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test deleting a tree reports deleted entries and freed bytes")
+    void testDeleteTree() throws IOException {
+        Path root = directory.resolve("root");
+        ParallelCopierTest.createTree(root);
+        Path wide = Files.createDirectories(root.resolve("wide"));
+        for (int i = 0; i < TreeDeleter.BATCH_SIZE + 1; i++) {
+            Files.writeString(wide.resolve("file" + i + ".txt"), "1");
+        }
+        long expectedBytes = FileManager.stats(root.toString()).totalBytes();
+
+        DeleteReport report = FileManager.delete(root.toString());
+
+        assertFalse(Files.exists(root));
+        assertTrue(report.isComplete());
+        assertEquals(3 + TreeDeleter.BATCH_SIZE + 1 + 5, report.entries());
+        assertEquals(expectedBytes, report.bytes());
+    }
+
+    @Test
+    @DisplayName("Test failures are collected instead of being ignored")
+    void testFailuresAreReported() {
+        DeleteReport report = TreeDeleter.delete(directory.resolve("missing"));
+
+        assertFalse(report.isComplete());
+        assertEquals(0, report.entries());
+        assertEquals(NoSuchFileException.class, report.failures().get(0).getClass());
+    }
+
+}
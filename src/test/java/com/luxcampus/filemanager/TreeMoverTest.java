@@ -0,0 +1,87 @@
+package com.luxcampus.filemanager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("TreeMover tests")
+class TreeMoverTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test move on the same file system renames the tree")
+    void testMoveRenamesTree() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("nested/to");
+        ParallelCopierTest.createTree(from);
+        Object fileKey = Files.readAttributes(from.resolve("inner/deeper/large.bin"), BasicFileAttributes.class).fileKey();
+
+        FileManager.move(from.toString(), to.toString());
+
+        assertFalse(Files.exists(from));
+        assertEquals(fileKey, Files.readAttributes(to.resolve("inner/deeper/large.bin"), BasicFileAttributes.class).fileKey());
+    }
+
+    @Test
+    @DisplayName("Test move by copying merges into an existing destination")
+    void testMoveByCopying() throws IOException {
+        Path from = directory.resolve("from");
+        Path expected = directory.resolve("expected");
+        Path to = directory.resolve("to");
+        ParallelCopierTest.createTree(from);
+        ParallelCopierTest.createTree(expected);
+        Files.createDirectories(to.resolve("inner"));
+        Files.writeString(to.resolve("inner/b.txt"), "old content");
+        Files.writeString(to.resolve("kept.txt"), "kept");
+
+        TreeMover.moveByCopying(from, to);
+
+        assertFalse(Files.exists(from));
+        assertTrue(Files.exists(to.resolve("kept.txt")));
+        assertTrue(Files.isDirectory(to.resolve("empty")));
+        ParallelCopierTest.assertSameContent(expected.resolve("inner/b.txt"), to.resolve("inner/b.txt"));
+        ParallelCopierTest.assertSameContent(expected.resolve("inner/deeper/large.bin"), to.resolve("inner/deeper/large.bin"));
+        assertFalse(Files.exists(to.resolve("inner/deeper/large.bin" + TreeMover.PARTIAL_SUFFIX)));
+    }
+
+    @Test
+    @DisplayName("Test moving across file systems keeps files that end with the staging suffix")
+    void testCopyAndDeleteKeepsPartialFiles() throws IOException {
+        Path from = directory.resolve("from");
+        Path to = directory.resolve("to");
+        Files.createDirectories(from);
+        Files.createDirectories(to);
+        Files.writeString(from.resolve("a"), "AAAA");
+        Files.writeString(from.resolve("a" + TreeMover.PARTIAL_SUFFIX), "PPPP");
+        Files.writeString(to.resolve("x" + TreeMover.PARTIAL_SUFFIX), "user owned");
+        Files.writeString(from.resolve("x"), "x");
+
+        for (String name : new String[]{"a", "a" + TreeMover.PARTIAL_SUFFIX, "x"}) {
+            TreeMover.copyAndDelete(from.resolve(name), to.resolve(name), Files.size(from.resolve(name)), new Transfer());
+        }
+
+        assertEquals("AAAA", Files.readString(to.resolve("a")));
+        assertEquals("PPPP", Files.readString(to.resolve("a" + TreeMover.PARTIAL_SUFFIX)));
+        assertEquals("x", Files.readString(to.resolve("x")));
+        assertEquals("user owned", Files.readString(to.resolve("x" + TreeMover.PARTIAL_SUFFIX)));
+        try (Stream<Path> files = Files.list(to)) {
+            assertEquals(4, files.count());
+        }
+        try (Stream<Path> files = Files.list(from)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.luxcampus.filemanager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("TreeStats tests")
+class TreeStatsTest {
+
+    final static String RESOURCES = "src/test/resources";
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @CsvSource({"folder1, 1, 0", "folder2, 5, 0", "folder3, 3, 1", "folder5, 1, 3", "folder9, 6, 4"})
+    @DisplayName("Test sequential and parallel stats count files and directories")
+    void testFileAndDirectoryCounts(String folder, long expectedFiles, long expectedDirs) {
+        String path = RESOURCES + "/" + folder;
+
+        TreeStats stats = FileManager.stats(path);
+        TreeStats parallelStats = FileManager.parallelStats(path);
+
+        assertEquals(expectedFiles, stats.files());
+        assertEquals(expectedDirs, stats.dirs());
+        assertEquals(stats, parallelStats);
+    }
+
+    @Test
+    @DisplayName("Test counts follow linked directories and stats do not")
+    void testLinkedDirectories() throws IOException {
+        Path root = directory.resolve("root");
+        Path real = directory.resolve("real");
+        Files.createDirectories(root);
+        Files.createDirectories(real);
+        Files.writeString(root.resolve("top"), "top");
+        Files.writeString(real.resolve("f1"), "first");
+        Files.writeString(real.resolve("f2"), "second");
+        Files.createSymbolicLink(root.resolve("link"), real);
+        Files.createSymbolicLink(real.resolve("loop"), real);
+
+        assertEquals(3, FileManager.countFiles(root.toString()));
+        assertEquals(2, FileManager.countDirs(root.toString()));
+        assertEquals(1, FileManager.stats(root.toString()).files());
+        assertEquals(0, FileManager.stats(root.toString()).dirs());
+    }
+
+    @Test
+    @DisplayName("Test total bytes, largest files and extension breakdown")
+    void testSizesAndExtensions() throws IOException {
+        Files.createDirectories(directory.resolve("inner"));
+        Files.writeString(directory.resolve("small.txt"), "1");
+        Files.writeString(directory.resolve("inner/large.TXT"), "1234567890");
+        Files.writeString(directory.resolve("inner/medium.log"), "12345");
+        Files.writeString(directory.resolve(".hidden"), "12");
+
+        TreeStats stats = FileManager.stats(directory.toString());
+
+        assertEquals(4, stats.files());
+        assertEquals(1, stats.dirs());
+        assertEquals(18, stats.totalBytes());
+        assertEquals(List.of(10L, 5L, 2L, 1L), stats.largestFiles().stream().map(TreeStats.FileSize::size).toList());
+        assertEquals(new TreeStats.ExtensionStats(2, 11), stats.extensions().get("txt"));
+        assertEquals(new TreeStats.ExtensionStats(1, 5), stats.extensions().get("log"));
+        assertEquals(new TreeStats.ExtensionStats(1, 2), stats.extensions().get(""));
+        assertEquals(stats, FileManager.parallelStats(directory.toString()));
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.luxcampus.metrics;
+
+import com.luxcampus.filemanager.FileManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Metrics tests")
+class MetricsTest {
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        Metrics.setEnabled(true);
+        Metrics.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Test
+    @DisplayName("Test nothing is recorded while disabled")
+    void testDisabled() {
+        Metrics.setEnabled(false);
+
+        Metrics.record(Phase.SEARCH_READ, Metrics.start(), 100);
+        Metrics.error(Phase.SEARCH_READ);
+        try (Metrics.Span span = Metrics.span(Phase.SEARCH)) {
+            span.addBytes(100);
+        }
+
+        assertEquals(0, Metrics.stats(Phase.SEARCH_READ).getCount());
+        assertEquals(0, Metrics.stats(Phase.SEARCH_READ).getErrors());
+        assertEquals(0, Metrics.stats(Phase.SEARCH).getCount());
+    }
+
+    @Test
+    @DisplayName("Test spans record bytes and count unfinished spans as errors")
+    void testSpan() {
+        try (Metrics.Span span = Metrics.span(Phase.SEARCH)) {
+            span.addBytes(10);
+            span.succeeded();
+        }
+        try (Metrics.Span span = Metrics.span(Phase.SEARCH)) {
+            span.addBytes(5);
+        }
+
+        PhaseStatsMXBean stats = Metrics.stats(Phase.SEARCH);
+        assertEquals(2, stats.getCount());
+        assertEquals(15, stats.getBytes());
+        assertEquals(1, stats.getErrors());
+        assertTrue(stats.getTotalNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Test copy records every file and its bytes")
+    void testCopy() throws IOException {
+        Path source = Files.createDirectories(directory.resolve("source"));
+        Files.writeString(source.resolve("a.txt"), "hello");
+        Files.writeString(Files.createDirectories(source.resolve("inner")).resolve("b.txt"), "world!");
+
+        FileManager.copy(source.toString(), directory.resolve("target").toString());
+
+        assertEquals(2, Metrics.stats(Phase.COPY_FILE).getCount());
+        assertEquals(11, Metrics.stats(Phase.COPY_FILE).getBytes());
+        assertEquals(1, Metrics.stats(Phase.COPY).getCount());
+        assertEquals(1, Metrics.stats(Phase.COPY_LIST).getCount());
+    }
+
+    @Test
+    @DisplayName("Test phases are exposed as MBeans")
+    void testMBeans() throws JMException {
+        try (Metrics.Span span = Metrics.span(Phase.DELETE)) {
+            span.addBytes(42);
+            span.succeeded();
+        }
+
+        ObjectName name = new ObjectName(Metrics.DOMAIN + ":type=Metrics,phase=DELETE");
+        assertEquals(42L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Bytes"));
+    }
+
+}